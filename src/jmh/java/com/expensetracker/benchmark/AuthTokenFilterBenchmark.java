@@ -0,0 +1,101 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.security.AuthTokenFilter;
+import com.expensetracker.security.JwtUtils;
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.security.UserStatusCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link AuthTokenFilter} on a mock request: a claims-based token with and
+ * without the verified-token cache, and a request without a token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+    
+    private AuthTokenFilter cachedFilter;
+    private AuthTokenFilter uncachedFilter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+    private CapturingChain chain;
+    
+    @Setup
+    public void setup() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findEnabledById(1L)).thenReturn(Optional.of(true));
+        UserStatusCache userStatusCache = new UserStatusCache(userRepository, true, 60);
+        
+        JwtUtils cachedUtils = JwtValidationBenchmark.newJwtUtils(10_000);
+        cachedFilter = new AuthTokenFilter(cachedUtils, null, userStatusCache, new SimpleMeterRegistry());
+        uncachedFilter = new AuthTokenFilter(JwtValidationBenchmark.newJwtUtils(0), null, userStatusCache,
+                new SimpleMeterRegistry());
+        
+        UserPrincipal principal = new UserPrincipal(1L, "bench_user", "bench@example.com", "n/a",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        String token = cachedUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/expenses");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/expenses");
+        response = new MockHttpServletResponse();
+        chain = new CapturingChain();
+    }
+    
+    @Benchmark
+    public Authentication cachedToken() throws ServletException, IOException {
+        cachedFilter.doFilter(authenticatedRequest, response, chain);
+        return chain.authentication;
+    }
+    
+    @Benchmark
+    public Authentication uncachedToken() throws ServletException, IOException {
+        uncachedFilter.doFilter(authenticatedRequest, response, chain);
+        return chain.authentication;
+    }
+    
+    @Benchmark
+    public Authentication noToken() throws ServletException, IOException {
+        cachedFilter.doFilter(anonymousRequest, response, chain);
+        return chain.authentication;
+    }
+    
+    /**
+     * Terminates the chain, keeping the authentication the filter established and clearing the
+     * context for the next invocation.
+     */
+    private static class CapturingChain implements FilterChain {
+        
+        private Authentication authentication;
+        
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+            authentication = SecurityContextHolder.getContext().getAuthentication();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
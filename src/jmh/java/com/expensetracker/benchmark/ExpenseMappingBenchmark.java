@@ -0,0 +1,100 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Expense;
+import com.expensetracker.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps large expense lists to {@link ExpenseResponse}: through {@code ExpenseService.mapToResponse}
+ * on loaded entities, as export does, against the flat constructor used by the listing queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseMappingBenchmark {
+    
+    private static final MethodHandle MAP_TO_RESPONSE;
+    
+    static {
+        try {
+            MAP_TO_RESPONSE = MethodHandles.privateLookupIn(ExpenseService.class, MethodHandles.lookup())
+                    .findVirtual(ExpenseService.class, "mapToResponse",
+                            MethodType.methodType(ExpenseResponse.class, Expense.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    @Param({"1000", "100000"})
+    public int listSize;
+    
+    private ExpenseService expenseService;
+    private List<Expense> expenses;
+    
+    @Setup
+    public void setup() {
+        expenseService = new ExpenseService(null, null, null, null, null, null, null);
+        
+        Random random = new Random(42);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Category " + i);
+            category.setDescription("Synthetic category " + i);
+            category.setColor(String.format("#%06x", random.nextInt(0x1000000)));
+            categories.add(category);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        expenses = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i);
+            expense.setDescription("Expense " + i);
+            expense.setAmount(BigDecimal.valueOf(random.nextInt(10_000_000), 2));
+            expense.setExpenseDate(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)));
+            expense.setCategory(categories.get(random.nextInt(categories.size())));
+            expense.setCreatedAt(now);
+            expense.setUpdatedAt(now);
+            expenses.add(expense);
+        }
+    }
+    
+    @Benchmark
+    public List<ExpenseResponse> mapEntities() throws Throwable {
+        List<ExpenseResponse> responses = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            responses.add((ExpenseResponse) MAP_TO_RESPONSE.invokeExact(expenseService, expense));
+        }
+        return responses;
+    }
+    
+    @Benchmark
+    public List<ExpenseResponse> flatConstructor() {
+        List<ExpenseResponse> responses = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            Category category = expense.getCategory();
+            responses.add(new ExpenseResponse(expense.getId(), expense.getDescription(), expense.getAmount(),
+                    expense.getExpenseDate(), category.getId(), category.getName(), category.getDescription(),
+                    category.getColor(), expense.getCreatedAt(), expense.getUpdatedAt()));
+        }
+        return responses;
+    }
+}
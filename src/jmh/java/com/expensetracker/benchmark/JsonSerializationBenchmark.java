@@ -0,0 +1,77 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.dto.response.ReportResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an {@link ObjectMapper} configured like Spring Boot's: an expense
+ * page of {@code listSize} rows and a report with 30 categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({"50", "500"})
+    public int listSize;
+    
+    private ObjectMapper objectMapper;
+    private ObjectWriter expenseListWriter;
+    private List<ExpenseResponse> expenses;
+    private ReportResponse report;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        expenseListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ExpenseResponse.class));
+        
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        expenses = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            int category = random.nextInt(30);
+            expenses.add(new ExpenseResponse((long) i, "Expense " + i, BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                    LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)), (long) category, "Category " + category,
+                    "Synthetic category " + category, "#336699", now, now));
+        }
+        
+        Map<String, BigDecimal> categoryWiseExpenses = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            categoryWiseExpenses.put("Category " + i, BigDecimal.valueOf(random.nextInt(100_000_000), 2));
+        }
+        report = new ReportResponse(BigDecimal.valueOf(123_456_789, 2), 4_321L, categoryWiseExpenses,
+                "Yearly Report - 2024");
+    }
+    
+    @Benchmark
+    public byte[] expenseList() throws JsonProcessingException {
+        return expenseListWriter.writeValueAsBytes(expenses);
+    }
+    
+    @Benchmark
+    public byte[] reportResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(report);
+    }
+}
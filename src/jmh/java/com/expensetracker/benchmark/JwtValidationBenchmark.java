@@ -0,0 +1,82 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.security.JwtUtils;
+import com.expensetracker.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request JWT work done by {@code AuthTokenFilter}: the original
+ * derive-key-and-parse-twice path against the cached-parser single parse, with and
+ * without the verified-token cache, and the public validate-then-read-username pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+    
+    private static final String SECRET = "mySecretKey12345678901234567890123456789012345678901234567890";
+    
+    private JwtUtils cachedUtils;
+    private JwtUtils uncachedUtils;
+    private String token;
+    
+    @Setup
+    public void setup() {
+        cachedUtils = newJwtUtils(10_000);
+        uncachedUtils = newJwtUtils(0);
+        
+        UserPrincipal principal = new UserPrincipal(1L, "bench_user", "bench@example.com", "n/a",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        token = cachedUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+    
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+    
+    @Benchmark
+    public Claims singleParse() {
+        return uncachedUtils.getVerifiedClaims(token);
+    }
+    
+    @Benchmark
+    public Claims cachedVerification() {
+        return cachedUtils.getVerifiedClaims(token);
+    }
+    
+    @Benchmark
+    public String validateThenUsername() {
+        return cachedUtils.validateJwtToken(token) ? cachedUtils.getUserNameFromJwtToken(token) : null;
+    }
+    
+    private static Key legacyKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+    
+    static JwtUtils newJwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", cacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,89 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.security.RateLimitFilter;
+import com.expensetracker.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link RateLimitFilter}: an admitted request, a rejected one (which writes
+ * the 429 body) and admitted requests from four threads sharing one user's bucket, where the CAS
+ * on the bucket is contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+    
+    private RateLimitFilter unlimitedFilter;
+    private RateLimitFilter exhaustedFilter;
+    
+    /** The exhausted filter admits one request per 11 days, so every call after the first is rejected. */
+    @Setup
+    public void setup() {
+        unlimitedFilter = newFilter(1e9, Integer.MAX_VALUE);
+        exhaustedFilter = newFilter(1e-6, 1);
+    }
+    
+    @Benchmark
+    public int admitted(Caller caller) throws ServletException, IOException {
+        unlimitedFilter.doFilter(caller.request, caller.response, caller.chain);
+        return caller.response.getStatus();
+    }
+    
+    /** Includes resetting the mock response, which otherwise keeps every 429 body written. */
+    @Benchmark
+    public int rejected(Caller caller) throws ServletException, IOException {
+        caller.response.reset();
+        exhaustedFilter.doFilter(caller.request, caller.response, caller.chain);
+        return caller.response.getStatus();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public int admittedContended(Caller caller) throws ServletException, IOException {
+        unlimitedFilter.doFilter(caller.request, caller.response, caller.chain);
+        return caller.response.getStatus();
+    }
+    
+    private static RateLimitFilter newFilter(double perSecond, int burst) {
+        return new RateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(), true, 600,
+                perSecond, burst, perSecond, burst);
+    }
+    
+    /**
+     * One authenticated caller per benchmark thread; the security context is thread-local, so it is
+     * set up on the thread that runs the benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        
+        private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private final FilterChain chain = (request, response) -> {
+        };
+        
+        @Setup
+        public void setup() {
+            UserPrincipal principal = new UserPrincipal(1L, "bench_user", "bench@example.com", "n/a",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.service.ReportAggregator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original {@code BigDecimal} fold in {@code ReportService} against the cents-based
+ * {@link ReportAggregator} over daily category totals of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportAggregationBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int rowCount;
+    
+    @Param({"30"})
+    public int categoryCount;
+    
+    private List<Row> rows;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Row("Category " + random.nextInt(categoryCount),
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2), 1L + random.nextInt(5)));
+        }
+    }
+    
+    @Benchmark
+    public ReportResponse bigDecimalFold() {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalExpenses = 0;
+        Map<String, BigDecimal> categoryWiseExpenses = new HashMap<>();
+        for (Row row : rows) {
+            totalAmount = totalAmount.add(row.getTotalAmount());
+            totalExpenses += row.getExpenseCount();
+            categoryWiseExpenses.merge(row.getCategoryName(), row.getTotalAmount(), BigDecimal::add);
+        }
+        return new ReportResponse(totalAmount, totalExpenses, categoryWiseExpenses, "benchmark");
+    }
+    
+    @Benchmark
+    public ReportResponse centsAggregator() {
+        return ReportAggregator.aggregate(rows, "benchmark");
+    }
+    
+    private record Row(String categoryName, BigDecimal totalAmount, Long expenseCount) implements CategoryTotal {
+        
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+        
+        @Override
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+        
+        @Override
+        public Long getExpenseCount() {
+            return expenseCount;
+        }
+    }
+}
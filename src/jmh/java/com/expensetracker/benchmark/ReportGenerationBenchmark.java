@@ -0,0 +1,168 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.repository.DailyExpenseSummaryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import com.expensetracker.service.ExpenseRollupService;
+import com.expensetracker.service.ReportAggregator;
+import com.expensetracker.service.ReportResultCache;
+import com.expensetracker.service.ReportService;
+import com.expensetracker.service.ResidentExpenseStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code ReportService} report generation over {@code expenseCount} synthetic expenses spread over
+ * three years and 30 categories. The database is replaced by mocks returning what its queries
+ * would: per-category totals for the rollup path and per-day rows for the resident store. The
+ * {@code foldExpenses} baseline aggregates the raw expense rows in process instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportGenerationBenchmark {
+    
+    private static final Long USER_ID = 1L;
+    private static final int CATEGORY_COUNT = 30;
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+    
+    @Param({"1000", "100000", "1000000"})
+    public int expenseCount;
+    
+    private List<Row> expenses;
+    private ReportService rollupReports;
+    private ReportService residentReports;
+    private ReportService cachedReports;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] categoryNames = new String[CATEGORY_COUNT];
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            categoryNames[i] = "Category " + i;
+        }
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        expenses = new ArrayList<>(expenseCount);
+        Map<Long, Row> dailyTotals = new TreeMap<>();
+        Map<Long, Row> categoryTotals = new TreeMap<>();
+        for (int i = 0; i < expenseCount; i++) {
+            int category = random.nextInt(CATEGORY_COUNT);
+            Row expense = new Row(START.plusDays(random.nextInt(days)), (long) category, categoryNames[category],
+                    BigDecimal.valueOf(random.nextInt(100_000), 2), 1L);
+            expenses.add(expense);
+            dailyTotals.merge(expense.day().toEpochDay() * CATEGORY_COUNT + expense.categoryId(), expense, Row::plus);
+            categoryTotals.merge(expense.categoryId(), expense, Row::plus);
+        }
+        
+        ExpenseRollupService rollupService = Mockito.mock(ExpenseRollupService.class);
+        Mockito.when(rollupService.getCategoryTotals(USER_ID, START, END))
+                .thenReturn(new ArrayList<CategoryTotal>(categoryTotals.values()));
+        DailyExpenseSummaryRepository summaryRepository = Mockito.mock(DailyExpenseSummaryRepository.class);
+        Mockito.when(summaryRepository.findAllDailyTotals(USER_ID))
+                .thenReturn(new ArrayList<DailyCategoryTotal>(dailyTotals.values()));
+        ExpenseRepository expenseRepository = Mockito.mock(ExpenseRepository.class);
+        
+        rollupReports = new ReportService(rollupService, expenseRepository, residentStore(summaryRepository, false),
+                uncachedResults());
+        residentReports = new ReportService(rollupService, expenseRepository, residentStore(summaryRepository, true),
+                uncachedResults());
+        cachedReports = new ReportService(rollupService, expenseRepository, residentStore(summaryRepository, false),
+                new ReportResultCache(new SimpleMeterRegistry(), 10_000));
+        for (ReportService reportService : List.of(rollupReports, residentReports, cachedReports)) {
+            ReflectionTestUtils.setField(reportService, "useRollup", true);
+        }
+    }
+    
+    @Benchmark
+    public ReportResponse rollup() {
+        return rollupReports.getCategoryWiseReport(USER_ID, START, END);
+    }
+    
+    @Benchmark
+    public ReportResponse resident() {
+        return residentReports.getCategoryWiseReport(USER_ID, START, END);
+    }
+    
+    @Benchmark
+    public ReportResponse cached() {
+        return cachedReports.getCategoryWiseReport(USER_ID, START, END);
+    }
+    
+    @Benchmark
+    public ReportResponse foldExpenses() {
+        return ReportAggregator.aggregate(expenses, "benchmark");
+    }
+    
+    private static ResidentExpenseStore residentStore(DailyExpenseSummaryRepository summaryRepository,
+                                                      boolean enabled) {
+        ResidentExpenseStore store = new ResidentExpenseStore(summaryRepository);
+        ReflectionTestUtils.setField(store, "enabled", enabled);
+        ReflectionTestUtils.setField(store, "maxBytes", 134_217_728L);
+        store.init();
+        return store;
+    }
+    
+    /**
+     * Result cache that always computes, so the other paths are measured without it.
+     */
+    private static ReportResultCache uncachedResults() {
+        return new ReportResultCache(new SimpleMeterRegistry(), 1) {
+            @Override
+            public ReportResponse get(Long userId, String period, LocalDate startDate, LocalDate endDate,
+                                      Supplier<ReportResponse> compute) {
+                return compute.get();
+            }
+        };
+    }
+    
+    private record Row(LocalDate day, Long categoryId, String categoryName, BigDecimal totalAmount,
+                       Long expenseCount) implements DailyCategoryTotal {
+        
+        Row plus(Row other) {
+            return new Row(day, categoryId, categoryName, totalAmount.add(other.totalAmount), expenseCount + other.expenseCount);
+        }
+        
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+        
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+        
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+        
+        @Override
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+        
+        @Override
+        public Long getExpenseCount() {
+            return expenseCount;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Runs the load test against a platform-thread instance and then a virtual-thread instance of the
+# same Java 21 build. Needs the MySQL from application.properties; extra -Dloadtest.* arguments are
+# passed to the driver. Summaries land in target/loadtest-platform.json and target/loadtest-virtual.json.
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+mvn -B -q -Pjava21 -DskipTests package
+JAR=$(ls target/expense-tracker-*.jar | grep -v original | head -n 1)
+
+run() {
+    local label=$1
+    shift
+    java -jar "$JAR" "$@" > "target/app-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+        kill -0 "$pid" 2>/dev/null || { echo "Application failed to start, see target/app-$label.log"; exit 1; }
+        sleep 1
+    done
+    mvn -B -q -Pjava21,loadtest test-compile exec:exec@run-loadtest -Dloadtest.label="$label" "${LOADTEST_ARGS[@]}"
+    kill "$pid"
+    wait "$pid" || true
+    trap - EXIT
+}
+
+LOADTEST_ARGS=("$@")
+# Each client hammers its own user, which the per-user rate limit would otherwise turn into 429s
+run platform --app.rate-limit.enabled=false
+run virtual --spring.profiles.active=virtual-threads --app.rate-limit.enabled=false
@@ -0,0 +1,43 @@
+package com.expensetracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency and error budgets every endpoint must meet. A limit of 0 is not checked.
+ */
+record LatencyBudget(double p50Millis, double p99Millis, double p999Millis, double maxErrorRate) {
+    
+    static LatencyBudget fromSystemProperties() {
+        return new LatencyBudget(
+                Double.parseDouble(System.getProperty("loadtest.budget.p50Millis", "0")),
+                Double.parseDouble(System.getProperty("loadtest.budget.p99Millis", "500")),
+                Double.parseDouble(System.getProperty("loadtest.budget.p999Millis", "2000")),
+                Double.parseDouble(System.getProperty("loadtest.budget.maxErrorRate", "0.01")));
+    }
+    
+    /**
+     * @return one message per exceeded limit, empty when the run is within budget
+     */
+    List<String> violations(Map<String, LatencyRecorder.Summary> summaries) {
+        List<String> violations = new ArrayList<>();
+        summaries.forEach((endpoint, summary) -> {
+            check(violations, endpoint, "p50", summary.p50Millis(), p50Millis);
+            check(violations, endpoint, "p99", summary.p99Millis(), p99Millis);
+            check(violations, endpoint, "p999", summary.p999Millis(), p999Millis);
+            double errorRate = summary.requests() == 0 ? 0 : (double) summary.errors() / summary.requests();
+            if (maxErrorRate > 0 && errorRate > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f", endpoint, errorRate, maxErrorRate));
+            }
+        });
+        return violations;
+    }
+    
+    private static void check(List<String> violations, String endpoint, String percentile, double actual,
+                              double limit) {
+        if (limit > 0 && actual > limit) {
+            violations.add(String.format("%s: %s %.2f ms exceeds %.2f ms", endpoint, percentile, actual, limit));
+        }
+    }
+}
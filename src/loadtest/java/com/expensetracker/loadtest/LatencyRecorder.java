@@ -0,0 +1,89 @@
+package com.expensetracker.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies in microseconds and summarises them as throughput and
+ * percentiles.
+ */
+class LatencyRecorder {
+    
+    private final Map<String, EndpointLatencies> endpoints = new ConcurrentHashMap<>();
+    
+    void record(String endpoint, long latencyMicros, boolean success) {
+        endpoints.computeIfAbsent(endpoint, name -> new EndpointLatencies()).add(latencyMicros, success);
+    }
+    
+    /**
+     * Summary per endpoint plus an {@code ALL} row, ordered by endpoint name.
+     */
+    Map<String, Summary> summarize(double durationSeconds) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        long[] all = new long[0];
+        long allErrors = 0;
+        for (Map.Entry<String, EndpointLatencies> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] latencies = entry.getValue().snapshot();
+            long errors = entry.getValue().errors();
+            summaries.put(entry.getKey(), Summary.of(latencies, errors, durationSeconds));
+            all = concat(all, latencies);
+            allErrors += errors;
+        }
+        summaries.put("ALL", Summary.of(all, allErrors, durationSeconds));
+        return summaries;
+    }
+    
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+    
+    private static class EndpointLatencies {
+        
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        
+        synchronized void add(long latencyMicros, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyMicros;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(latencies, size);
+        }
+        
+        synchronized long errors() {
+            return errors;
+        }
+    }
+    
+    record Summary(long requests, long errors, double throughput,
+                   double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+        
+        static Summary of(long[] latencies, long errors, double durationSeconds) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new Summary(sorted.length, errors, sorted.length / durationSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP calls against the instance under test, recorded per endpoint while recording is on. An
+ * endpoint is labelled {@code "<METHOD> <path template>"}; the method is taken from the label.
+ */
+class LoadClient {
+    
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final String baseUrl;
+    private final HttpClient http;
+    private final LatencyRecorder recorder;
+    private final AtomicBoolean recording = new AtomicBoolean();
+    
+    LoadClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+    
+    void setRecording(boolean recording) {
+        this.recording.set(recording);
+    }
+    
+    String login(String username, String password) throws IOException, InterruptedException {
+        return login(username, password, System.nanoTime());
+    }
+    
+    String login(String username, String password, long intendedStartNanos) throws IOException, InterruptedException {
+        HttpResponse<String> login = send("POST /api/auth/login", null, "/api/auth/login",
+                MAPPER.writeValueAsString(Map.of("username", username, "password", password)), intendedStartNanos);
+        JsonNode body = MAPPER.readTree(login.body());
+        if (!body.hasNonNull("token")) {
+            throw new IOException("Login failed: " + login.body());
+        }
+        return body.get("token").asText();
+    }
+    
+    HttpResponse<String> send(String endpoint, String token, String path, String json)
+            throws IOException, InterruptedException {
+        return send(endpoint, token, path, json, System.nanoTime());
+    }
+    
+    /**
+     * Sends the request and records its latency from {@code intendedStartNanos}, so a request
+     * that had to wait for a free client is charged for the wait as well.
+     */
+    HttpResponse<String> send(String endpoint, String token, String path, String json, long intendedStartNanos)
+            throws IOException, InterruptedException {
+        String method = endpoint.substring(0, endpoint.indexOf(' '));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, json != null
+                        ? HttpRequest.BodyPublishers.ofString(json)
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (json != null) {
+            request.header("Content-Type", "application/json");
+        }
+        
+        boolean success = false;
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() < 400;
+            return response;
+        } finally {
+            if (recording.get()) {
+                recorder.record(endpoint, (System.nanoTime() - intendedStartNanos) / 1000, success);
+            }
+        }
+    }
+}
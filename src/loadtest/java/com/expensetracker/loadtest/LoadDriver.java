@@ -0,0 +1,170 @@
+package com.expensetracker.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.expensetracker.loadtest.LoadClient.MAPPER;
+
+/**
+ * Closed-loop HTTP load against a running instance. Each client signs up its own user, seeds a
+ * category and a few expenses, then loops over a mix of list, report and write calls. Latencies
+ * recorded after the warm-up are printed and written to {@code target/loadtest-<label>.json}.
+ * <p>
+ * Configured with system properties: {@code loadtest.baseUrl}, {@code loadtest.clients},
+ * {@code loadtest.warmupSeconds}, {@code loadtest.durationSeconds} and {@code loadtest.label}.
+ */
+public class LoadDriver {
+    
+    private final int clients;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final String label;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final LoadClient client;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    
+    LoadDriver(String baseUrl, int clients, int warmupSeconds, int durationSeconds, String label) {
+        this.clients = clients;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.label = label;
+        this.client = new LoadClient(baseUrl, recorder);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadDriver driver = new LoadDriver(
+                System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+                Integer.getInteger("loadtest.clients", 200),
+                Integer.getInteger("loadtest.warmupSeconds", 10),
+                Integer.getInteger("loadtest.durationSeconds", 60),
+                System.getProperty("loadtest.label", "default"));
+        Map<String, LatencyRecorder.Summary> summaries = driver.run();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", driver.clients);
+        settings.put("durationSeconds", driver.durationSeconds);
+        report(driver.label, settings, summaries, Path.of("target"));
+    }
+    
+    Map<String, LatencyRecorder.Summary> run() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                String username = "lt" + runId + "_" + i;
+                futures.add(pool.submit(() -> {
+                    runClient(username);
+                    return null;
+                }));
+            }
+            
+            Thread.sleep(warmupSeconds * 1000L);
+            client.setRecording(true);
+            long measuredFrom = System.nanoTime();
+            Thread.sleep(durationSeconds * 1000L);
+            client.setRecording(false);
+            double measuredSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+            running.set(false);
+            
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            return recorder.summarize(measuredSeconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Prints the summaries as a table and writes them, with the run settings, to
+     * {@code loadtest-<label>.json} in {@code outputDirectory}.
+     */
+    static void report(String label, Map<String, Object> settings, Map<String, LatencyRecorder.Summary> summaries,
+                       Path outputDirectory) throws IOException {
+        System.out.printf("%nLoad test '%s': %s%n", label, settings);
+        System.out.printf("%-34s %10s %8s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        summaries.forEach((endpoint, summary) -> System.out.printf("%-34s %10d %8d %10.1f %9.2f %9.2f %9.2f%n",
+                endpoint, summary.requests(), summary.errors(), summary.throughput(),
+                summary.p50Millis(), summary.p99Millis(), summary.p999Millis()));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.putAll(settings);
+        result.put("endpoints", summaries);
+        Files.createDirectories(outputDirectory);
+        Path output = outputDirectory.resolve("loadtest-" + label + ".json");
+        MAPPER.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), result);
+        System.out.println("Results written to " + output);
+    }
+    
+    private void runClient(String username) {
+        String token;
+        long categoryId;
+        try {
+            token = signUpAndLogin(username);
+            categoryId = MAPPER.readTree(client.send("POST /api/categories", token, "/api/categories",
+                    "{\"name\":\"Load\",\"color\":\"#000000\"}").body()).get("id").asLong();
+            for (int i = 0; i < 10; i++) {
+                createExpense(token, categoryId);
+            }
+        } catch (Exception e) {
+            System.err.println("Setup failed for " + username + ": " + e.getMessage());
+            return;
+        }
+        
+        int year = LocalDate.now().getYear();
+        int month = LocalDate.now().getMonthValue();
+        while (running.get()) {
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            try {
+                if (roll < 45) {
+                    client.send("GET /api/expenses", token, "/api/expenses?size=50", null);
+                } else if (roll < 65) {
+                    client.send("GET /api/reports/monthly", token,
+                            "/api/reports/monthly?year=" + year + "&month=" + month, null);
+                } else if (roll < 75) {
+                    client.send("GET /api/reports/yearly", token, "/api/reports/yearly?year=" + year, null);
+                } else if (roll < 85) {
+                    client.send("GET /api/categories", token, "/api/categories", null);
+                } else {
+                    createExpense(token, categoryId);
+                }
+            } catch (IOException e) {
+                // Recorded as an error by send; keep the client looping
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private String signUpAndLogin(String username) throws IOException, InterruptedException {
+        String password = "loadtest-password";
+        client.send("POST /api/auth/signup", null, "/api/auth/signup", MAPPER.writeValueAsString(Map.of(
+                "username", username, "email", username + "@loadtest.local", "password", password)));
+        return client.login(username, password);
+    }
+    
+    private void createExpense(String token, long categoryId) throws IOException, InterruptedException {
+        LocalDate date = LocalDate.now().withDayOfYear(1)
+                .plusDays(ThreadLocalRandom.current().nextInt(LocalDate.now().getDayOfYear()));
+        String amount = ThreadLocalRandom.current().nextInt(100, 100_000) / 100 + "."
+                + String.format("%02d", ThreadLocalRandom.current().nextInt(100));
+        client.send("POST /api/expenses", token, "/api/expenses", "{\"description\":\"load test\",\"amount\":" + amount
+                + ",\"expenseDate\":\"" + date + "\",\"categoryId\":" + categoryId + "}");
+    }
+}
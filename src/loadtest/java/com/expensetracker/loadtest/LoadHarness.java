@@ -0,0 +1,302 @@
+package com.expensetracker.loadtest;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.expensetracker.loadtest.LoadClient.MAPPER;
+
+/**
+ * Self-contained load test: boots the application in-process against an in-memory H2 database in
+ * MySQL mode (or the database at {@code loadtest.jdbcUrl}), seeds synthetic users, categories and
+ * expenses with batched inserts, then drives a login, CRUD, list and report mix at a fixed target
+ * rate from many concurrent clients. Requests are scheduled on a shared timeline and latency is
+ * measured from the scheduled time, so a saturated server shows up as queueing delay instead of a
+ * lower request rate. Exits with status 1 when a {@link LatencyBudget} is exceeded.
+ * <p>
+ * Configured with {@code loadtest.*} system properties; see the README for the full list.
+ */
+public class LoadHarness {
+    
+    private static final String PASSWORD = "loadtest-password";
+    private static final String H2_URL = "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    
+    private final int users;
+    private final int clients;
+    private final int targetRps;
+    private final int requestsPerLogin;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final String usernamePrefix = "seed" + Long.toString(System.currentTimeMillis() % 1_000_000, 36) + "_";
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicLong nextSendNanos = new AtomicLong();
+    private LoadClient client;
+    
+    LoadHarness(int users, int clients, int targetRps, int requestsPerLogin, int warmupSeconds, int durationSeconds) {
+        if (users < clients) {
+            throw new IllegalArgumentException("loadtest.users (" + users + ") must be at least loadtest.clients ("
+                    + clients + "), so that no two clients act as the same user");
+        }
+        this.users = users;
+        this.clients = clients;
+        this.targetRps = targetRps;
+        this.requestsPerLogin = requestsPerLogin;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadHarness harness = new LoadHarness(
+                Integer.getInteger("loadtest.users", 1000),
+                Integer.getInteger("loadtest.clients", 200),
+                Integer.getInteger("loadtest.targetRps", 500),
+                Integer.getInteger("loadtest.requestsPerLogin", 50),
+                Integer.getInteger("loadtest.warmupSeconds", 10),
+                Integer.getInteger("loadtest.durationSeconds", 60));
+        String label = System.getProperty("loadtest.label", "harness");
+        LatencyBudget budget = LatencyBudget.fromSystemProperties();
+        
+        Map<String, LatencyRecorder.Summary> summaries;
+        try (ConfigurableApplicationContext context = SpringApplication.run(ExpenseTrackerApplication.class,
+                applicationArguments())) {
+            harness.seed(context,
+                    Integer.getInteger("loadtest.categoriesPerUser", 20),
+                    Integer.getInteger("loadtest.expensesPerUser", 500),
+                    Integer.getInteger("loadtest.seedBatchSize", 1000));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            summaries = harness.run("http://localhost:" + port);
+        }
+        
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", harness.users);
+        settings.put("clients", harness.clients);
+        settings.put("targetRps", harness.targetRps);
+        settings.put("durationSeconds", harness.durationSeconds);
+        settings.put("budget", budget);
+        LoadDriver.report(label, settings, summaries, Path.of("target"));
+        
+        List<String> violations = budget.violations(summaries);
+        if (!violations.isEmpty()) {
+            System.err.println("Latency budget exceeded:");
+            violations.forEach(violation -> System.err.println("  " + violation));
+            System.exit(1);
+        }
+        System.out.println("All endpoints within budget");
+    }
+    
+    /**
+     * Command-line arguments, which take precedence over application.properties: a random port,
+     * quiet logging, no per-user rate limit (each client drives its users far above a human's rate),
+     * and the H2 stand-in unless {@code loadtest.jdbcUrl} points at a real database.
+     */
+    private static String[] applicationArguments() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.rate-limit.enabled=false",
+                "--logging.level.com.expensetracker=INFO",
+                "--logging.level.org.springframework.security=WARN"));
+        String jdbcUrl = System.getProperty("loadtest.jdbcUrl", "");
+        if (jdbcUrl.isEmpty()) {
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=" + H2_URL,
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    // Flyway owns the schema; H2 reports some MySQL column types differently
+                    "--spring.jpa.hibernate.ddl-auto=none"));
+        } else {
+            arguments.add("--spring.datasource.url=" + jdbcUrl);
+            arguments.add("--spring.datasource.username=" + System.getProperty("loadtest.jdbcUser", "root"));
+            arguments.add("--spring.datasource.password=" + System.getProperty("loadtest.jdbcPassword", "password"));
+        }
+        return arguments.toArray(String[]::new);
+    }
+    
+    void seed(ConfigurableApplicationContext context, int categoriesPerUser, int expensesPerUser, int batchSize) {
+        long started = System.nanoTime();
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        SyntheticDataSeeder seeder = new SyntheticDataSeeder(
+                new JdbcTemplate(context.getBean(DataSource.class)), batchSize);
+        seeder.seed(usernamePrefix, passwordHash, users, categoriesPerUser, expensesPerUser);
+        System.out.printf("Seeded %d users x %d expenses in %.1fs%n", users, expensesPerUser,
+                (System.nanoTime() - started) / 1e9);
+    }
+    
+    Map<String, LatencyRecorder.Summary> run(String baseUrl) throws Exception {
+        client = new LoadClient(baseUrl, recorder);
+        nextSendNanos.set(System.nanoTime());
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                int clientIndex = i;
+                futures.add(pool.submit(() -> {
+                    runClient(clientIndex);
+                    return null;
+                }));
+            }
+            
+            Thread.sleep(warmupSeconds * 1000L);
+            client.setRecording(true);
+            long measuredFrom = System.nanoTime();
+            Thread.sleep(durationSeconds * 1000L);
+            client.setRecording(false);
+            double measuredSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+            running.set(false);
+            
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            return recorder.summarize(measuredSeconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Repeatedly logs in as a random one of this client's seeded users and issues
+     * {@code requestsPerLogin} requests as that user. Client {@code i} owns users {@code i},
+     * {@code i + clients}, ..., so a listed expense is never deleted by another client in between.
+     */
+    private void runClient(int clientIndex) {
+        int ownedUsers = (users - clientIndex + clients - 1) / clients;
+        while (running.get()) {
+            try {
+                int user = clientIndex + clients * ThreadLocalRandom.current().nextInt(ownedUsers);
+                Session session = login(user);
+                for (int i = 0; i < requestsPerLogin && running.get(); i++) {
+                    session.next(awaitSlot());
+                }
+            } catch (IOException e) {
+                // Recorded as an error by send; start a new session
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Claims the next send time on the shared timeline and waits for it.
+     */
+    private long awaitSlot() throws InterruptedException {
+        long scheduled = nextSendNanos.getAndAdd(1_000_000_000L / targetRps);
+        long delay;
+        while ((delay = scheduled - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return scheduled;
+    }
+    
+    private Session login(int user) throws IOException, InterruptedException {
+        String username = SyntheticDataSeeder.username(usernamePrefix, user);
+        String token = client.login(username, PASSWORD, awaitSlot());
+        HttpResponse<String> categories = client.send("GET /api/categories", token, "/api/categories", null,
+                awaitSlot());
+        List<Long> categoryIds = new ArrayList<>();
+        for (JsonNode category : MAPPER.readTree(categories.body())) {
+            categoryIds.add(category.get("id").asLong());
+        }
+        if (categoryIds.isEmpty()) {
+            throw new IOException("No categories for " + username);
+        }
+        return new Session(token, categoryIds);
+    }
+    
+    /**
+     * One logged-in user: known category ids, expense ids seen in listings, and expenses created
+     * in this session, which are the only ones it deletes.
+     */
+    private class Session {
+        
+        private final String token;
+        private final List<Long> categoryIds;
+        private final List<Long> listedIds = new ArrayList<>();
+        private final List<Long> createdIds = new ArrayList<>();
+        
+        Session(String token, List<Long> categoryIds) {
+            this.token = token;
+            this.categoryIds = categoryIds;
+        }
+        
+        void next(long scheduled) throws IOException, InterruptedException {
+            LocalDate today = LocalDate.now();
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            if (roll < 30 || listedIds.isEmpty()) {
+                HttpResponse<String> page = client.send("GET /api/expenses", token, "/api/expenses?size=50", null,
+                        scheduled);
+                listedIds.clear();
+                for (JsonNode expense : MAPPER.readTree(page.body()).path("content")) {
+                    listedIds.add(expense.get("id").asLong());
+                }
+            } else if (roll < 38) {
+                client.send("GET /api/expenses/{id}", token, "/api/expenses/" + any(listedIds), null, scheduled);
+            } else if (roll < 48) {
+                HttpResponse<String> created = client.send("POST /api/expenses", token, "/api/expenses",
+                        expenseJson(today), scheduled);
+                JsonNode id = MAPPER.readTree(created.body()).get("id");
+                if (id != null) {
+                    createdIds.add(id.asLong());
+                }
+            } else if (roll < 53) {
+                client.send("PUT /api/expenses/{id}", token, "/api/expenses/" + any(listedIds), expenseJson(today),
+                        scheduled);
+            } else if (roll < 57 && !createdIds.isEmpty()) {
+                Long id = createdIds.remove(createdIds.size() - 1);
+                listedIds.remove(id);
+                client.send("DELETE /api/expenses/{id}", token, "/api/expenses/" + id, null, scheduled);
+            } else if (roll < 65) {
+                client.send("GET /api/categories", token, "/api/categories", null, scheduled);
+            } else if (roll < 80) {
+                LocalDate month = today.minusMonths(ThreadLocalRandom.current().nextInt(12));
+                client.send("GET /api/reports/monthly", token, "/api/reports/monthly?year=" + month.getYear()
+                        + "&month=" + month.getMonthValue(), null, scheduled);
+            } else if (roll < 88) {
+                client.send("GET /api/reports/yearly", token, "/api/reports/yearly?year="
+                        + (today.getYear() - ThreadLocalRandom.current().nextInt(2)), null, scheduled);
+            } else if (roll < 95) {
+                client.send("GET /api/reports/dashboard", token, "/api/reports/dashboard", null, scheduled);
+            } else {
+                client.send("GET /api/reports/timeseries", token, "/api/reports/timeseries?bucket=month&start="
+                        + today.minusYears(1) + "&end=" + today, null, scheduled);
+            }
+        }
+        
+        private String expenseJson(LocalDate today) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return "{\"description\":\"load test\",\"amount\":" + random.nextInt(1, 1000) + "."
+                    + String.format("%02d", random.nextInt(100)) + ",\"expenseDate\":\""
+                    + today.minusDays(random.nextInt(365)) + "\",\"categoryId\":" + any(categoryIds) + "}";
+        }
+        
+        private Long any(List<Long> ids) {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.expensetracker.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes users, categories and expenses straight to the database with batched inserts, bypassing
+ * the API. Users are named by {@link #username} and share one password. Expenses are spread evenly
+ * over the two years up to today, and the daily rollup is built for each chunk of users.
+ */
+class SyntheticDataSeeder {
+    
+    private static final int USERS_PER_CHUNK = 100;
+    private static final int HISTORY_DAYS = 730;
+    
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+    private final Random random = new Random(42);
+    
+    SyntheticDataSeeder(JdbcTemplate jdbc, int batchSize) {
+        this.jdbc = jdbc;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Zero-padded so that a chunk of users is a contiguous username range.
+     */
+    static String username(String prefix, int index) {
+        return prefix + String.format("%07d", index);
+    }
+    
+    /**
+     * @return ids of the seeded users, in the order of their usernames
+     */
+    List<Long> seed(String usernamePrefix, String passwordHash, int users, int categoriesPerUser,
+                    int expensesPerUser) {
+        List<Long> userIds = new ArrayList<>(users);
+        LocalDate today = LocalDate.now();
+        for (int first = 0; first < users; first += USERS_PER_CHUNK) {
+            int last = Math.min(first + USERS_PER_CHUNK, users);
+            List<Long> chunk = insertUsers(usernamePrefix, passwordHash, first, last);
+            List<Long> categoryIds = insertCategories(chunk, categoriesPerUser);
+            insertExpenses(chunk, categoryIds, categoriesPerUser, expensesPerUser, today);
+            jdbc.update("INSERT INTO daily_expense_summaries (user_id, summary_date, category_id, total_amount, " +
+                    "expense_count) SELECT user_id, expense_date, category_id, SUM(amount), COUNT(*) FROM expenses " +
+                    "WHERE user_id >= ? AND user_id <= ? GROUP BY user_id, expense_date, category_id",
+                    chunk.get(0), chunk.get(chunk.size() - 1));
+            userIds.addAll(chunk);
+            System.out.printf("Seeded %d/%d users%n", last, users);
+        }
+        return userIds;
+    }
+    
+    private List<Long> insertUsers(String usernamePrefix, String passwordHash, int first, int last) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+            String username = username(usernamePrefix, i);
+            rows.add(new Object[]{username, username + "@seed.local", passwordHash, "USER", true, now});
+        }
+        batchInsert("INSERT INTO users (username, email, password, role, enabled, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        return jdbc.queryForList("SELECT id FROM users WHERE username >= ? AND username <= ? ORDER BY username",
+                Long.class, username(usernamePrefix, first), username(usernamePrefix, last - 1));
+    }
+    
+    /**
+     * @return category ids ordered by user, then category number
+     */
+    private List<Long> insertCategories(List<Long> userIds, int categoriesPerUser) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(userIds.size() * categoriesPerUser);
+        for (Long userId : userIds) {
+            for (int c = 0; c < categoriesPerUser; c++) {
+                rows.add(new Object[]{"Category " + c, "Seeded category " + c,
+                        String.format("#%06x", random.nextInt(0x1000000)), userId, now});
+            }
+        }
+        batchInsert("INSERT INTO categories (name, description, color, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                rows);
+        return jdbc.queryForList("SELECT id FROM categories WHERE user_id >= ? AND user_id <= ? ORDER BY user_id, id",
+                Long.class, userIds.get(0), userIds.get(userIds.size() - 1));
+    }
+    
+    private void insertExpenses(List<Long> userIds, List<Long> categoryIds, int categoriesPerUser,
+                                int expensesPerUser, LocalDate today) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int u = 0; u < userIds.size(); u++) {
+            for (int e = 0; e < expensesPerUser; e++) {
+                Long categoryId = categoryIds.get(u * categoriesPerUser + random.nextInt(categoriesPerUser));
+                rows.add(new Object[]{"Seeded expense " + e, BigDecimal.valueOf(random.nextInt(100, 50_000), 2),
+                        Date.valueOf(today.minusDays(random.nextInt(HISTORY_DAYS))), userIds.get(u), categoryId, now});
+                if (rows.size() == batchSize) {
+                    insertExpenseRows(rows);
+                    rows.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertExpenseRows(rows);
+        }
+    }
+    
+    private void insertExpenseRows(List<Object[]> rows) {
+        batchInsert("INSERT INTO expenses (description, amount, expense_date, user_id, category_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+    
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+}
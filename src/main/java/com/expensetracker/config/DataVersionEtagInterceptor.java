@@ -0,0 +1,44 @@
+package com.expensetracker.config;
+
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Tags expense, category and report reads with an ETag derived from the caller's data version
+ * and answers a matching {@code If-None-Match} with 304 before the controller runs. The current
+ * date is part of the tag because reports default to today.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+    
+    private final DataVersionService dataVersionService;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return true;
+        }
+        
+        long version = dataVersionService.currentVersion(principal.getId());
+        String etag = "W/\"" + principal.getId() + "-" + version + "-" + LocalDate.now().toEpochDay() + "\"";
+        // Spring Security sends no-store unless a Cache-Control header is already present
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application metrics on top of the actuator defaults. Request, repository invocation, Hikari and
+ * Hibernate timers come from Spring Boot; this adds {@code @Timed} support for services and row
+ * counts per repository method. Tags are limited to class and method names so their cardinality
+ * is fixed by the code, not by the data.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    public static final String REPOSITORY_ROWS = "spring.data.repository.rows";
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean
+    public static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RowCountInterceptor(
+                                    meterRegistry, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+    
+    /**
+     * Records the rows returned by collection, page and optional results, and the rows affected by
+     * {@link Modifying} queries. Streams are not counted since that would require consuming them.
+     */
+    static class RowCountInterceptor implements MethodInterceptor {
+        
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+        
+        RowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+        
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            long rows = rowCount(result, invocation.getMethod().isAnnotationPresent(Modifying.class));
+            if (rows >= 0) {
+                summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary.builder(REPOSITORY_ROWS)
+                        .description("Rows returned or affected per repository call")
+                        .baseUnit("rows")
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .register(meterRegistry.getObject()))
+                        .record(rows);
+            }
+            return result;
+        }
+        
+        private static long rowCount(Object result, boolean modifying) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (modifying && result instanceof Number number) {
+                return number.longValue();
+            }
+            return -1;
+        }
+    }
+}
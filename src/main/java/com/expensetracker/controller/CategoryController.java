@@ -2,6 +2,7 @@ package com.expensetracker.controller;
 
 import com.expensetracker.dto.request.CategoryRequest;
 import com.expensetracker.dto.response.CategoryResponse;
+import com.expensetracker.security.UserPrincipal;
 import com.expensetracker.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,7 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,8 +32,8 @@ public class CategoryController {
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieve all categories for the authenticated user")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved categories")
-    public ResponseEntity<List<CategoryResponse>> getAllCategories(Authentication authentication) {
-        List<CategoryResponse> categories = categoryService.getAllCategories(authentication.getName());
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(@AuthenticationPrincipal UserPrincipal principal) {
+        List<CategoryResponse> categories = categoryService.getAllCategories(principal.getId());
         return ResponseEntity.ok(categories);
     }
     
@@ -42,8 +43,9 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved category"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id, Authentication authentication) {
-        CategoryResponse category = categoryService.getCategoryById(id, authentication.getName());
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id,
+                                                            @AuthenticationPrincipal UserPrincipal principal) {
+        CategoryResponse category = categoryService.getCategoryById(id, principal.getId());
         return ResponseEntity.ok(category);
     }
     
@@ -54,8 +56,8 @@ public class CategoryController {
             @ApiResponse(responseCode = "400", description = "Invalid input or category already exists")
     })
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest request,
-                                                          Authentication authentication) {
-        CategoryResponse category = categoryService.createCategory(request, authentication.getName());
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        CategoryResponse category = categoryService.createCategory(request, principal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(category);
     }
     
@@ -67,8 +69,8 @@ public class CategoryController {
     })
     public ResponseEntity<CategoryResponse> updateCategory(@PathVariable Long id,
                                                           @Valid @RequestBody CategoryRequest request,
-                                                          Authentication authentication) {
-        CategoryResponse category = categoryService.updateCategory(id, request, authentication.getName());
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        CategoryResponse category = categoryService.updateCategory(id, request, principal.getId());
         return ResponseEntity.ok(category);
     }
     
@@ -78,8 +80,9 @@ public class CategoryController {
             @ApiResponse(responseCode = "204", description = "Category deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id, Authentication authentication) {
-        categoryService.deleteCategory(id, authentication.getName());
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id,
+                                               @AuthenticationPrincipal UserPrincipal principal) {
+        categoryService.deleteCategory(id, principal.getId());
         return ResponseEntity.noContent().build();
     }
 }
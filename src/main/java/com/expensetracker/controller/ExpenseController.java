@@ -1,7 +1,14 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.request.BulkDeleteRequest;
 import com.expensetracker.dto.request.ExpenseRequest;
+import com.expensetracker.dto.request.MoveExpensesRequest;
+import com.expensetracker.dto.response.BulkUpdateResponse;
+import com.expensetracker.dto.response.ExpensePageResponse;
 import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.dto.response.ImportResponse;
+import com.expensetracker.security.UserPrincipal;
+import com.expensetracker.service.ExpenseImportService;
 import com.expensetracker.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,15 +16,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -31,11 +44,19 @@ public class ExpenseController {
     @Autowired
     ExpenseService expenseService;
     
+    @Autowired
+    ExpenseImportService expenseImportService;
+    
     @GetMapping
-    @Operation(summary = "Get all expenses", description = "Retrieve all expenses for the authenticated user")
+    @Operation(summary = "Get all expenses", description = "Retrieve a page of expenses for the authenticated user, newest first")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved expenses")
-    public ResponseEntity<List<ExpenseResponse>> getAllExpenses(Authentication authentication) {
-        List<ExpenseResponse> expenses = expenseService.getAllExpenses(authentication.getName());
+    public ResponseEntity<ExpensePageResponse> getAllExpenses(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + ExpenseService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ExpensePageResponse expenses = expenseService.getAllExpenses(principal.getId(), cursor, size);
         return ResponseEntity.ok(expenses);
     }
     
@@ -45,25 +66,78 @@ public class ExpenseController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved expense"),
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
-    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable Long id, Authentication authentication) {
-        ExpenseResponse expense = expenseService.getExpenseById(id, authentication.getName());
+    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable Long id,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        ExpenseResponse expense = expenseService.getExpenseById(id, principal.getId());
         return ResponseEntity.ok(expense);
     }
     
     @GetMapping("/date-range")
     @Operation(summary = "Get expenses by date range", description = "Retrieve expenses within a specific date range")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved expenses")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByDateRange(
+    public ResponseEntity<ExpensePageResponse> getExpensesByDateRange(
             @Parameter(description = "Start date (YYYY-MM-DD)") 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
-        List<ExpenseResponse> expenses = expenseService.getExpensesByDateRange(
-                authentication.getName(), startDate, endDate);
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + ExpenseService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ExpensePageResponse expenses = expenseService.getExpensesByDateRange(
+                principal.getId(), startDate, endDate, cursor, size);
         return ResponseEntity.ok(expenses);
     }
     
+    @GetMapping("/search")
+    @Operation(summary = "Search expenses",
+            description = "Full-text search over expense descriptions. Every word must match as a prefix; "
+                    + "results are ordered by relevance, then newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched expenses"),
+            @ApiResponse(responseCode = "400", description = "No searchable word in the query or invalid cursor")
+    })
+    public ResponseEntity<ExpensePageResponse> searchExpenses(
+            @Parameter(description = "Search text; words shorter than " + ExpenseService.MIN_SEARCH_TERM_LENGTH
+                    + " characters are ignored")
+            @RequestParam String q,
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + ExpenseService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + ExpenseService.DEFAULT_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ExpensePageResponse expenses = expenseService.searchExpenses(principal.getId(), q, startDate, endDate,
+                categoryId, minAmount, maxAmount, cursor, size);
+        return ResponseEntity.ok(expenses);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export expenses", description = "Stream the full expense history as CSV or newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    public void exportExpenses(
+            @Parameter(description = "Export format (csv or ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletResponse response) throws IOException {
+        ExpenseService.ExportFormat exportFormat = ExpenseService.ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"expenses." + exportFormat.getExtension() + "\"");
+        expenseService.exportExpenses(principal.getId(), exportFormat, response.getWriter());
+    }
+    
     @PostMapping
     @Operation(summary = "Create new expense", description = "Create a new expense entry")
     @ApiResponses(value = {
@@ -71,11 +145,37 @@ public class ExpenseController {
             @ApiResponse(responseCode = "400", description = "Invalid input")
     })
     public ResponseEntity<ExpenseResponse> createExpense(@Valid @RequestBody ExpenseRequest request,
-                                                        Authentication authentication) {
-        ExpenseResponse expense = expenseService.createExpense(request, authentication.getName());
+                                                        @AuthenticationPrincipal UserPrincipal principal) {
+        ExpenseResponse expense = expenseService.createExpense(request, principal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(expense);
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import expenses (JSON)", description = "Import a JSON array of expenses using batched inserts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; invalid rows are reported individually"),
+            @ApiResponse(responseCode = "400", description = "Malformed request body")
+    })
+    public ResponseEntity<ImportResponse> importExpenses(@RequestBody List<ExpenseRequest> requests,
+                                                         @AuthenticationPrincipal UserPrincipal principal) {
+        ImportResponse result = expenseImportService.importExpenses(requests, principal.getId());
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Bulk import expenses (CSV)",
+            description = "Import CSV with a header of description, amount, expenseDate and categoryId or "
+                    + "category (name); the CSV export is accepted as is")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; invalid rows are reported individually"),
+            @ApiResponse(responseCode = "400", description = "Missing or malformed CSV header")
+    })
+    public ResponseEntity<ImportResponse> importExpensesCsv(HttpServletRequest request,
+                                                            @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        ImportResponse result = expenseImportService.importCsv(request.getReader(), principal.getId());
+        return ResponseEntity.ok(result);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update expense", description = "Update an existing expense")
     @ApiResponses(value = {
@@ -84,8 +184,8 @@ public class ExpenseController {
     })
     public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable Long id,
                                                         @Valid @RequestBody ExpenseRequest request,
-                                                        Authentication authentication) {
-        ExpenseResponse expense = expenseService.updateExpense(id, request, authentication.getName());
+                                                        @AuthenticationPrincipal UserPrincipal principal) {
+        ExpenseResponse expense = expenseService.updateExpense(id, request, principal.getId());
         return ResponseEntity.ok(expense);
     }
     
@@ -95,8 +195,51 @@ public class ExpenseController {
             @ApiResponse(responseCode = "204", description = "Expense deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
-    public ResponseEntity<Void> deleteExpense(@PathVariable Long id, Authentication authentication) {
-        expenseService.deleteExpense(id, authentication.getName());
+    public ResponseEntity<Void> deleteExpense(@PathVariable Long id,
+                                              @AuthenticationPrincipal UserPrincipal principal) {
+        expenseService.deleteExpense(id, principal.getId());
         return ResponseEntity.noContent().build();
     }
+    
+    @PostMapping("/bulk-delete")
+    @Operation(summary = "Delete expenses by ID",
+            description = "Delete up to " + BulkDeleteRequest.MAX_IDS + " expenses in one statement; unknown IDs are ignored")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expenses deleted; affectedCount is the number removed"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    })
+    public ResponseEntity<BulkUpdateResponse> deleteExpenses(@Valid @RequestBody BulkDeleteRequest request,
+                                                             @AuthenticationPrincipal UserPrincipal principal) {
+        int deleted = expenseService.deleteExpenses(request.getIds(), principal.getId());
+        return ResponseEntity.ok(new BulkUpdateResponse(deleted));
+    }
+    
+    @DeleteMapping("/date-range")
+    @Operation(summary = "Delete expenses by date range", description = "Delete every expense between two dates, inclusive")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expenses deleted; affectedCount is the number removed"),
+            @ApiResponse(responseCode = "400", description = "End date before start date")
+    })
+    public ResponseEntity<BulkUpdateResponse> deleteExpensesByDateRange(
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        int deleted = expenseService.deleteExpensesByDateRange(principal.getId(), startDate, endDate);
+        return ResponseEntity.ok(new BulkUpdateResponse(deleted));
+    }
+    
+    @PostMapping("/move-category")
+    @Operation(summary = "Recategorize expenses", description = "Move every expense of one category to another in one statement")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expenses moved; affectedCount is the number moved"),
+            @ApiResponse(responseCode = "400", description = "Category not found or source equals target")
+    })
+    public ResponseEntity<BulkUpdateResponse> moveExpenses(@Valid @RequestBody MoveExpensesRequest request,
+                                                           @AuthenticationPrincipal UserPrincipal principal) {
+        int moved = expenseService.moveExpenses(request.getFromCategoryId(), request.getToCategoryId(),
+                principal.getId());
+        return ResponseEntity.ok(new BulkUpdateResponse(moved));
+    }
 }
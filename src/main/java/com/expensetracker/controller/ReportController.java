@@ -1,6 +1,9 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.response.DashboardResponse;
 import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.dto.response.TimeSeriesResponse;
+import com.expensetracker.security.UserPrincipal;
 import com.expensetracker.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -32,8 +35,8 @@ public class ReportController {
     public ResponseEntity<ReportResponse> getMonthlyReport(
             @Parameter(description = "Year (e.g., 2024)") @RequestParam int year,
             @Parameter(description = "Month (1-12)") @RequestParam int month,
-            Authentication authentication) {
-        ReportResponse report = reportService.getMonthlyReport(authentication.getName(), year, month);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ReportResponse report = reportService.getMonthlyReport(principal.getId(), year, month);
         return ResponseEntity.ok(report);
     }
     
@@ -43,8 +46,8 @@ public class ReportController {
     public ResponseEntity<ReportResponse> getWeeklyReport(
             @Parameter(description = "Start date of the week (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            Authentication authentication) {
-        ReportResponse report = reportService.getWeeklyReport(authentication.getName(), startDate);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ReportResponse report = reportService.getWeeklyReport(principal.getId(), startDate);
         return ResponseEntity.ok(report);
     }
     
@@ -56,8 +59,8 @@ public class ReportController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
-        ReportResponse report = reportService.getCategoryWiseReport(authentication.getName(), startDate, endDate);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ReportResponse report = reportService.getCategoryWiseReport(principal.getId(), startDate, endDate);
         return ResponseEntity.ok(report);
     }
     
@@ -66,8 +69,40 @@ public class ReportController {
     @ApiResponse(responseCode = "200", description = "Successfully generated yearly report")
     public ResponseEntity<ReportResponse> getYearlyReport(
             @Parameter(description = "Year (e.g., 2024)") @RequestParam int year,
-            Authentication authentication) {
-        ReportResponse report = reportService.getYearlyReport(authentication.getName(), year);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ReportResponse report = reportService.getYearlyReport(principal.getId(), year);
         return ResponseEntity.ok(report);
     }
+    
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get dashboard", description = "Generate week, month and year reports around a date in one pass")
+    @ApiResponse(responseCode = "200", description = "Successfully generated dashboard")
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @Parameter(description = "Reference date (YYYY-MM-DD), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        LocalDate referenceDate = date != null ? date : LocalDate.now();
+        DashboardResponse dashboard = reportService.getDashboard(principal.getId(), referenceDate);
+        return ResponseEntity.ok(dashboard);
+    }
+    
+    @GetMapping("/timeseries")
+    @Operation(summary = "Get time series", description = "Dense per-bucket totals and counts for charting, as parallel arrays")
+    @ApiResponse(responseCode = "200", description = "Successfully generated time series")
+    public ResponseEntity<TimeSeriesResponse> getTimeSeries(
+            @Parameter(description = "Start date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @Parameter(description = "End date (YYYY-MM-DD)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @Parameter(description = "Bucket size: day, week or month")
+            @RequestParam(defaultValue = "day") String bucket,
+            @Parameter(description = "Only include expenses in this category")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Also return one series per category")
+            @RequestParam(defaultValue = "false") boolean byCategory,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TimeSeriesResponse series = reportService.getTimeSeries(principal.getId(), start, end,
+                ReportService.TimeBucket.from(bucket), categoryId, byCategory);
+        return ResponseEntity.ok(series);
+    }
 }
@@ -0,0 +1,17 @@
+package com.expensetracker.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkDeleteRequest {
+    
+    public static final int MAX_IDS = 1000;
+    
+    @NotEmpty(message = "At least one expense ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " expense IDs per request")
+    private List<Long> ids;
+}
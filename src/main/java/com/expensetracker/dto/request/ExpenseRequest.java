@@ -1,8 +1,10 @@
 package com.expensetracker.dto.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -12,10 +14,12 @@ import java.time.LocalDate;
 public class ExpenseRequest {
     
     @NotBlank(message = "Description is required")
+    @Size(max = 255, message = "Description must be at most 255 characters")
     private String description;
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must fit DECIMAL(10,2): at most 8 digits and 2 decimals")
     private BigDecimal amount;
     
     @NotNull(message = "Expense date is required")
@@ -0,0 +1,14 @@
+package com.expensetracker.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class MoveExpensesRequest {
+    
+    @NotNull(message = "Source category ID is required")
+    private Long fromCategoryId;
+    
+    @NotNull(message = "Target category ID is required")
+    private Long toCategoryId;
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DashboardResponse {
+    private ReportResponse week;
+    private ReportResponse month;
+    private ReportResponse year;
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpensePageResponse {
+    private List<ExpenseResponse> content;
+    private String nextCursor;
+}
@@ -1,12 +1,14 @@
 package com.expensetracker.dto.response;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class ExpenseResponse {
     private Long id;
     private String description;
@@ -15,4 +17,26 @@ public class ExpenseResponse {
     private CategoryResponse category;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    /**
+     * Flat constructor used by JPQL constructor expressions so listings can be read
+     * straight from the expense/category join without materialising entities.
+     */
+    public ExpenseResponse(Long id, String description, BigDecimal amount, LocalDate expenseDate,
+                           Long categoryId, String categoryName, String categoryDescription, String categoryColor,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.expenseDate = expenseDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setId(categoryId);
+        categoryResponse.setName(categoryName);
+        categoryResponse.setDescription(categoryDescription);
+        categoryResponse.setColor(categoryColor);
+        this.category = categoryResponse;
+    }
 }
@@ -0,0 +1,22 @@
+package com.expensetracker.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportResponse {
+    private int importedCount;
+    private int rejectedCount;
+    private long durationMs;
+    private List<RowError> errors;
+    
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
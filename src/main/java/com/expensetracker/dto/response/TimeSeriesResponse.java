@@ -0,0 +1,24 @@
+package com.expensetracker.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Dense series as parallel arrays: index {@code i} of every array belongs to the bucket starting
+ * at {@code bucketStarts[i]}.
+ */
+@Data
+@AllArgsConstructor
+public class TimeSeriesResponse {
+    private String bucket;
+    private LocalDate[] bucketStarts;
+    private BigDecimal[] totals;
+    private long[] counts;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, BigDecimal[]> categoryTotals;
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day, per-category rollup of expense totals. Maintained by
+ * {@link com.expensetracker.service.ExpenseRollupService} in the same transaction
+ * as every expense mutation so reports can be answered without loading expenses.
+ */
+@Entity
+@Table(name = "daily_expense_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_summaries_user_date_category",
+                columnNames = {"user_id", "summary_date", "category_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyExpenseSummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+}
@@ -13,7 +13,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date_id", columnList = "user_id, expense_date, id"),
+        @Index(name = "idx_expenses_user_date_category_amount", columnList = "user_id, expense_date, category_id, amount"),
+        @Index(name = "idx_expenses_user_category", columnList = "user_id, category_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,17 @@
+package com.expensetracker.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a bounded resource sheds load; answered with 503 and a {@code Retry-After} header.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,7 +1,6 @@
 package com.expensetracker.repository;
 
 import com.expensetracker.entity.Category;
-import com.expensetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,9 +10,13 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
-    List<Category> findByUser(User user);
+    List<Category> findByUserId(Long userId);
     
-    Optional<Category> findByIdAndUser(Long id, User user);
-    
-    Boolean existsByNameAndUser(String name, User user);
+    /**
+     * Loads the category by primary key so the second-level cache can serve it, then checks
+     * ownership against the cached foreign key without touching the user row.
+     */
+    default Optional<Category> findOwnedById(Long id, Long userId) {
+        return findById(id).filter(category -> category.getUser().getId().equals(userId));
+    }
 }
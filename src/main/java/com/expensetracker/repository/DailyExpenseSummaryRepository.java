@@ -0,0 +1,126 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.DailyExpenseSummary;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyExpenseSummaryRepository extends JpaRepository<DailyExpenseSummary, Long> {
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "INSERT INTO daily_expense_summaries (user_id, summary_date, category_id, total_amount, expense_count) " +
+            "VALUES (:userId, :day, :categoryId, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, expense_count = expense_count + :count",
+            nativeQuery = true)
+    void addExpenses(@Param("userId") Long userId,
+                     @Param("day") LocalDate day,
+                     @Param("categoryId") Long categoryId,
+                     @Param("amount") BigDecimal amount,
+                     @Param("count") long count);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "UPDATE daily_expense_summaries SET total_amount = total_amount - :amount, expense_count = expense_count - 1 " +
+            "WHERE user_id = :userId AND summary_date = :day AND category_id = :categoryId",
+            nativeQuery = true)
+    void removeExpense(@Param("userId") Long userId,
+                       @Param("day") LocalDate day,
+                       @Param("categoryId") Long categoryId,
+                       @Param("amount") BigDecimal amount);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "DELETE FROM daily_expense_summaries " +
+            "WHERE user_id = :userId AND summary_date = :day AND category_id = :categoryId AND expense_count <= 0",
+            nativeQuery = true)
+    void deleteIfEmpty(@Param("userId") Long userId,
+                       @Param("day") LocalDate day,
+                       @Param("categoryId") Long categoryId);
+    
+    @Modifying
+    @Query("DELETE FROM DailyExpenseSummary s WHERE s.category = :category")
+    void deleteByCategory(@Param("category") Category category);
+    
+    /**
+     * Subtracts the given expenses, grouped per day and category, in one statement. Must run
+     * before the expenses themselves are deleted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "UPDATE daily_expense_summaries s JOIN (" +
+            "SELECT expense_date, category_id, SUM(amount) AS amount, COUNT(*) AS expense_count FROM expenses " +
+            "WHERE user_id = :userId AND id IN (:ids) GROUP BY expense_date, category_id) removed " +
+            "ON s.summary_date = removed.expense_date AND s.category_id = removed.category_id " +
+            "SET s.total_amount = s.total_amount - removed.amount, " +
+            "s.expense_count = s.expense_count - removed.expense_count " +
+            "WHERE s.user_id = :userId",
+            nativeQuery = true)
+    int removeExpenses(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "DELETE FROM daily_expense_summaries WHERE user_id = :userId AND expense_count <= 0",
+            nativeQuery = true)
+    int deleteEmpty(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM DailyExpenseSummary s " +
+            "WHERE s.user.id = :userId AND s.summaryDate >= :startDate AND s.summaryDate <= :endDate")
+    int deleteByUserIdAndDateRange(@Param("userId") Long userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Adds every day of {@code fromCategoryId} onto {@code toCategoryId}, merging days both have.
+     * The source rows are left in place for {@link #deleteByCategory} to remove.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_expense_summaries"))
+    @Query(value = "INSERT INTO daily_expense_summaries (user_id, summary_date, category_id, total_amount, expense_count) " +
+            "SELECT moved.user_id, moved.summary_date, :toCategoryId, moved.total_amount, moved.expense_count FROM (" +
+            "SELECT user_id, summary_date, total_amount, expense_count FROM daily_expense_summaries " +
+            "WHERE user_id = :userId AND category_id = :fromCategoryId) moved " +
+            "ON DUPLICATE KEY UPDATE total_amount = daily_expense_summaries.total_amount + moved.total_amount, " +
+            "expense_count = daily_expense_summaries.expense_count + moved.expense_count",
+            nativeQuery = true)
+    int mergeIntoCategory(@Param("userId") Long userId,
+                          @Param("fromCategoryId") Long fromCategoryId,
+                          @Param("toCategoryId") Long toCategoryId);
+    
+    @Query("SELECT c.name AS categoryName, SUM(s.totalAmount) AS totalAmount, SUM(s.expenseCount) AS expenseCount " +
+            "FROM DailyExpenseSummary s JOIN s.category c " +
+            "WHERE s.user.id = :userId AND s.summaryDate >= :startDate AND s.summaryDate <= :endDate " +
+            "GROUP BY c.id, c.name")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT s.summaryDate AS day, c.id AS categoryId, c.name AS categoryName, " +
+            "s.totalAmount AS totalAmount, s.expenseCount AS expenseCount " +
+            "FROM DailyExpenseSummary s JOIN s.category c " +
+            "WHERE s.user.id = :userId AND s.summaryDate >= :startDate AND s.summaryDate <= :endDate")
+    List<DailyCategoryTotal> findDailyTotals(@Param("userId") Long userId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT s.summaryDate AS day, c.id AS categoryId, c.name AS categoryName, " +
+            "s.totalAmount AS totalAmount, s.expenseCount AS expenseCount " +
+            "FROM DailyExpenseSummary s JOIN s.category c " +
+            "WHERE s.user.id = :userId ORDER BY s.summaryDate, c.id")
+    List<DailyCategoryTotal> findAllDailyTotals(@Param("userId") Long userId);
+}
@@ -1,22 +1,52 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.response.ExpenseResponse;
+import com.expensetracker.entity.Category;
 import com.expensetracker.entity.Expense;
 import com.expensetracker.entity.User;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
+    /** Select list matching the flat {@link ExpenseResponse} constructor. */
+    String RESPONSE_COLUMNS = "e.id, e.description, e.amount, e.expenseDate, " +
+            "c.id, c.name, c.description, c.color, e.createdAt, e.updatedAt";
+    
+    /** JDBC fetch size for streamed exports; requires useCursorFetch=true on MySQL. */
+    int EXPORT_FETCH_SIZE = 500;
+    
     List<Expense> findByUser(User user);
     
-    Optional<Expense> findByIdAndUser(Long id, User user);
+    Optional<Expense> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Locks the expense row until the transaction ends, so concurrent updates and deletes of one
+     * expense read its previous amount, date and category one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+    Optional<Expense> findForUpdate(@Param("id") Long id, @Param("userId") Long userId);
     
     List<Expense> findByUserAndExpenseDateBetween(User user, LocalDate startDate, LocalDate endDate);
     
@@ -25,6 +55,116 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                                  @Param("startDate") LocalDate startDate, 
                                                  @Param("endDate") LocalDate endDate);
     
+    @Query("SELECT new com.expensetracker.dto.response.ExpenseResponse(" + RESPONSE_COLUMNS + ") " +
+            "FROM Expense e JOIN e.category c WHERE e.user.id = :userId " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT new com.expensetracker.dto.response.ExpenseResponse(" + RESPONSE_COLUMNS + ") " +
+            "FROM Expense e JOIN e.category c WHERE e.user.id = :userId AND e.expenseDate <= :afterDate " +
+            "AND (e.expenseDate < :afterDate OR (e.expenseDate = :afterDate AND e.id < :afterId)) " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserIdAfter(@Param("userId") Long userId,
+                                                @Param("afterDate") LocalDate afterDate,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Query("SELECT new com.expensetracker.dto.response.ExpenseResponse(" + RESPONSE_COLUMNS + ") " +
+            "FROM Expense e JOIN e.category c " +
+            "WHERE e.user.id = :userId AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserIdAndDateRange(@Param("userId") Long userId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate,
+                                                       Pageable pageable);
+    
+    @Query("SELECT new com.expensetracker.dto.response.ExpenseResponse(" + RESPONSE_COLUMNS + ") " +
+            "FROM Expense e JOIN e.category c " +
+            "WHERE e.user.id = :userId AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate " +
+            "AND e.expenseDate <= :afterDate " +
+            "AND (e.expenseDate < :afterDate OR (e.expenseDate = :afterDate AND e.id < :afterId)) " +
+            "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserIdAndDateRangeAfter(@Param("userId") Long userId,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate,
+                                                            @Param("afterDate") LocalDate afterDate,
+                                                            @Param("afterId") Long afterId,
+                                                            Pageable pageable);
+    
+    /**
+     * Ids of the user's expenses whose description matches a boolean-mode full-text query, most
+     * relevant first, then newest. Null filters are ignored. Uses ft_expenses_description (MySQL).
+     */
+    @Query(value = "SELECT e.id FROM expenses e " +
+            "WHERE e.user_id = :userId AND MATCH (e.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "AND (:startDate IS NULL OR e.expense_date >= :startDate) " +
+            "AND (:endDate IS NULL OR e.expense_date <= :endDate) " +
+            "AND (:categoryId IS NULL OR e.category_id = :categoryId) " +
+            "AND (:minAmount IS NULL OR e.amount >= :minAmount) " +
+            "AND (:maxAmount IS NULL OR e.amount <= :maxAmount) " +
+            "ORDER BY MATCH (e.description) AGAINST (:query IN BOOLEAN MODE) DESC, e.expense_date DESC, e.id DESC " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Long> searchIds(@Param("userId") Long userId,
+                         @Param("query") String query,
+                         @Param("startDate") LocalDate startDate,
+                         @Param("endDate") LocalDate endDate,
+                         @Param("categoryId") Long categoryId,
+                         @Param("minAmount") BigDecimal minAmount,
+                         @Param("maxAmount") BigDecimal maxAmount,
+                         @Param("limit") int limit,
+                         @Param("offset") int offset);
+    
+    @Query("SELECT new com.expensetracker.dto.response.ExpenseResponse(" + RESPONSE_COLUMNS + ") " +
+            "FROM Expense e JOIN e.category c WHERE e.id IN :ids")
+    List<ExpenseResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category WHERE e.user.id = :userId ORDER BY e.expenseDate, e.id")
+    Stream<Expense> streamByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.category.id = :categoryId")
     List<Expense> findByUserAndCategoryId(@Param("user") User user, @Param("categoryId") Long categoryId);
+    
+    @Query("SELECT c.name AS categoryName, SUM(e.amount) AS totalAmount, COUNT(e) AS expenseCount " +
+            "FROM Expense e JOIN e.category c " +
+            "WHERE e.user.id = :userId AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate " +
+            "GROUP BY c.id, c.name")
+    List<CategoryTotal> sumByCategoryAndDateRange(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT e.expenseDate AS day, c.id AS categoryId, c.name AS categoryName, " +
+            "SUM(e.amount) AS totalAmount, COUNT(e) AS expenseCount " +
+            "FROM Expense e JOIN e.category c " +
+            "WHERE e.user.id = :userId AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate " +
+            "GROUP BY e.expenseDate, c.id, c.name")
+    List<DailyCategoryTotal> sumByDayAndCategory(@Param("userId") Long userId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+    
+    @Modifying
+    @Query("DELETE FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM Expense e " +
+            "WHERE e.user.id = :userId AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate")
+    int deleteByUserIdAndDateRange(@Param("userId") Long userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Bulk updates bypass auditing, so {@code updatedAt} is set explicitly.
+     */
+    @Modifying
+    @Query("UPDATE Expense e SET e.category = :to, e.updatedAt = :updatedAt " +
+            "WHERE e.user.id = :userId AND e.category = :from")
+    int moveToCategory(@Param("userId") Long userId,
+                       @Param("from") Category from,
+                       @Param("to") Category to,
+                       @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,15 @@
+package com.expensetracker.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated spend for one category over a date range.
+ */
+public interface CategoryTotal {
+    
+    String getCategoryName();
+    
+    BigDecimal getTotalAmount();
+    
+    Long getExpenseCount();
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated spend for one category on one day.
+ */
+public interface DailyCategoryTotal extends CategoryTotal {
+    
+    LocalDate getDay();
+    
+    Long getCategoryId();
+}
@@ -0,0 +1,159 @@
+package com.expensetracker.security;
+
+import com.expensetracker.dto.response.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user rate limit applied after {@link AuthTokenFilter}. Each user has one bucket per
+ * {@link EndpointClass}, implemented as a GCRA token bucket: a single {@link AtomicLong}
+ * theoretical arrival time updated by CAS, so the hot path takes no locks. Buckets live in
+ * Caffeine caches and are dropped once idle. Time comes from a {@link Ticker}, the system one
+ * outside tests.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final ObjectMapper objectMapper;
+    private final Ticker ticker;
+    private final boolean enabled;
+    private final Limit[] limits = new Limit[EndpointClass.values().length];
+    private final Cache<Long, AtomicLong>[] buckets;
+    private final Counter[] rejections = new Counter[EndpointClass.values().length];
+    
+    @Autowired
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.idle-expiry-seconds:600}") long idleExpirySeconds,
+                           @Value("${app.rate-limit.crud.per-second:20}") double crudPerSecond,
+                           @Value("${app.rate-limit.crud.burst:40}") int crudBurst,
+                           @Value("${app.rate-limit.report.per-second:2}") double reportPerSecond,
+                           @Value("${app.rate-limit.report.burst:10}") int reportBurst) {
+        this(objectMapper, meterRegistry, enabled, idleExpirySeconds, crudPerSecond, crudBurst,
+                reportPerSecond, reportBurst, Ticker.systemTicker());
+    }
+    
+    @SuppressWarnings("unchecked")
+    RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry, boolean enabled, long idleExpirySeconds,
+                    double crudPerSecond, int crudBurst, double reportPerSecond, int reportBurst, Ticker ticker) {
+        this.objectMapper = objectMapper;
+        this.ticker = ticker;
+        this.enabled = enabled;
+        limits[EndpointClass.CRUD.ordinal()] = new Limit(crudPerSecond, crudBurst);
+        limits[EndpointClass.REPORT.ordinal()] = new Limit(reportPerSecond, reportBurst);
+        
+        buckets = new Cache[EndpointClass.values().length];
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            buckets[endpointClass.ordinal()] = Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                    .ticker(ticker)
+                    .build();
+            rejections[endpointClass.ordinal()] = Counter.builder("rate.limit.rejected")
+                    .description("Requests rejected by the per-user rate limit")
+                    .tag("class", endpointClass.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        EndpointClass endpointClass = EndpointClass.of(request.getRequestURI());
+        int slot = endpointClass.ordinal();
+        long now = ticker.read();
+        AtomicLong bucket = buckets[slot].get(principal.getId(), id -> new AtomicLong(now));
+        long waitNanos = limits[slot].tryAcquire(bucket, now);
+        if (waitNanos > 0) {
+            rejections[slot].increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("Error: Rate limit exceeded, retry in " + retryAfterSeconds + "s"));
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    enum EndpointClass {
+        CRUD,
+        REPORT;
+        
+        static EndpointClass of(String path) {
+            if (path.startsWith("/api/reports/") || path.startsWith("/api/expenses/export")
+                    || path.startsWith("/api/expenses/import") || path.startsWith("/api/expenses/bulk-delete")
+                    || path.startsWith("/api/expenses/move-category")) {
+                return REPORT;
+            }
+            return CRUD;
+        }
+    }
+    
+    /**
+     * GCRA parameters: one request per {@code emissionInterval}, with up to {@code burst}
+     * requests allowed back to back.
+     */
+    static final class Limit {
+        
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        
+        Limit(double perSecond, int burst) {
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+        }
+        
+        /**
+         * @return 0 if the request is admitted, otherwise nanoseconds until it would be
+         */
+        long tryAcquire(AtomicLong theoreticalArrival, long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long allowedAt = current - burstToleranceNanos;
+                if (now - allowedAt < 0) {
+                    return allowedAt - now;
+                }
+                long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.security;
+
+import com.expensetracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of whether a user account is still enabled, so claims-based
+ * authentication notices disabled or deleted accounts within the TTL without a
+ * {@code users} lookup on every request.
+ */
+@Component
+public class UserStatusCache {
+    
+    private final UserRepository userRepository;
+    private final boolean checkEnabled;
+    private final Cache<Long, Boolean> statuses;
+    
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.jwt.user-status-check:true}") boolean checkEnabled,
+                           @Value("${app.jwt.user-status-ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.checkEnabled = checkEnabled;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    /**
+     * The lookup runs outside the cache: a {@code get(key, loader)} would hold the entry's lock
+     * through the query and pin a virtual thread. Concurrent misses may both query.
+     */
+    public boolean isEnabled(Long userId) {
+        if (!checkEnabled) {
+            return true;
+        }
+        Boolean enabled = statuses.getIfPresent(userId);
+        if (enabled == null) {
+            enabled = userRepository.findEnabledById(userId).orElse(false);
+            statuses.put(userId, enabled);
+        }
+        return enabled;
+    }
+}
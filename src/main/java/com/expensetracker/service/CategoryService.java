@@ -3,77 +3,121 @@ package com.expensetracker.service;
 import com.expensetracker.dto.request.CategoryRequest;
 import com.expensetracker.dto.response.CategoryResponse;
 import com.expensetracker.entity.Category;
-import com.expensetracker.entity.User;
 import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.DailyExpenseSummaryRepository;
 import com.expensetracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
     
+    public static final String USER_CATEGORIES_CACHE = "userCategories";
+    
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final DailyExpenseSummaryRepository summaryRepository;
+    private final ResidentExpenseStore residentStore;
+    private final DataVersionService dataVersionService;
+    private final ReportResultCache reportCache;
     
-    public List<CategoryResponse> getAllCategories(String username) {
-        User user = getUserByUsername(username);
-        return categoryRepository.findByUser(user)
+    @Cacheable(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    public List<CategoryResponse> getAllCategories(Long userId) {
+        return categoryRepository.findByUserId(userId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
-    public CategoryResponse getCategoryById(Long id, String username) {
-        User user = getUserByUsername(username);
-        Category category = categoryRepository.findByIdAndUser(id, user)
+    public CategoryResponse getCategoryById(Long id, Long userId) {
+        Category category = categoryRepository.findOwnedById(id, userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         return mapToResponse(category);
     }
     
-    public CategoryResponse createCategory(CategoryRequest request, String username) {
-        User user = getUserByUsername(username);
-        
-        if (categoryRepository.existsByNameAndUser(request.getName(), user)) {
-            throw new RuntimeException("Category with this name already exists");
-        }
-        
+    @Transactional
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    public CategoryResponse createCategory(CategoryRequest request, Long userId) {
         Category category = new Category();
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setColor(request.getColor());
-        category.setUser(user);
+        category.setUser(userRepository.getReferenceById(userId));
         
-        Category savedCategory = categoryRepository.save(category);
+        Category savedCategory = saveUniqueName(category);
+        dataVersionService.bump(userId);
         return mapToResponse(savedCategory);
     }
     
-    public CategoryResponse updateCategory(Long id, CategoryRequest request, String username) {
-        User user = getUserByUsername(username);
-        Category category = categoryRepository.findByIdAndUser(id, user)
+    @Transactional
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    public CategoryResponse updateCategory(Long id, CategoryRequest request, Long userId) {
+        Category category = categoryRepository.findOwnedById(id, userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setColor(request.getColor());
         
-        Category updatedCategory = categoryRepository.save(category);
+        Category updatedCategory = saveUniqueName(category);
+        residentStore.invalidate(userId);
+        reportCache.evictUser(userId);
+        dataVersionService.bump(userId);
         return mapToResponse(updatedCategory);
     }
     
-    public void deleteCategory(Long id, String username) {
-        User user = getUserByUsername(username);
-        Category category = categoryRepository.findByIdAndUser(id, user)
+    @Transactional
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    public void deleteCategory(Long id, Long userId) {
+        Category category = categoryRepository.findOwnedById(id, userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
+        summaryRepository.deleteByCategory(category);
         categoryRepository.delete(category);
+        residentStore.invalidate(userId);
+        reportCache.evictUser(userId);
+        dataVersionService.bump(userId);
     }
     
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Saves the category, mapping a violation of the per-user unique name constraint to the
+     * usual client error. Other integrity failures, such as an over-long name, are rethrown.
+     */
+    private Category saveUniqueName(Category category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            if (violatesUniqueName(e)) {
+                throw new RuntimeException("Category with this name already exists");
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Databases report the constraint name differently (MySQL prefixes the table, H2 suffixes the
+     * index), so it is matched by containment, in the driver's message when the dialect could not
+     * extract it.
+     */
+    private static boolean violatesUniqueName(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName() != null
+                        ? violation.getConstraintName() : violation.getSQLException().getMessage();
+                return constraint != null
+                        && constraint.toLowerCase(Locale.ROOT).contains(Category.UNIQUE_NAME_CONSTRAINT);
+            }
+        }
+        return false;
     }
     
     private CategoryResponse mapToResponse(Category category) {
@@ -0,0 +1,66 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.UserDataVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version used to answer conditional GETs. Writes bump the stored counter in the
+ * transaction that changes the data, so a rolled-back write leaves the version alone, and drop
+ * the local cached value once it commits; the TTL bounds how long another instance can keep
+ * serving the previous version.
+ */
+@Service
+public class DataVersionService {
+    
+    private final UserDataVersionRepository versionRepository;
+    private final Cache<Long, Long> versions;
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public DataVersionService(UserDataVersionRepository versionRepository,
+                              @Value("${app.etag.version-cache-size:100000}") long cacheSize,
+                              @Value("${app.etag.version-ttl-seconds:5}") long ttlSeconds) {
+        this.versionRepository = versionRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    /**
+     * Reads the version outside the cache, so the query never runs under a cache lock that would
+     * pin a virtual thread. The value is cached only if no bump committed while it was read.
+     */
+    public long currentVersion(Long userId) {
+        Long cached = versions.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        long version = versionRepository.findVersionByUserId(userId).orElse(0L);
+        versions.asMap().compute(userId, (id, current) ->
+                current != null ? current : invalidations.get() == seen ? version : null);
+        return version;
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        versionRepository.increment(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidations.incrementAndGet();
+                versions.invalidate(userId);
+            }
+        });
+    }
+}
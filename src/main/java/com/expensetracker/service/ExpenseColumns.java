@@ -0,0 +1,210 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's daily rollup held as parallel primitive columns sorted by (epoch day, category
+ * ordinal). Ordinals are assigned in category id order at load, so the sort matches the
+ * rollup's {@code ORDER BY summary_date, category_id}.
+ */
+final class ExpenseColumns {
+    
+    private static final int ROW_BYTES = Integer.BYTES * 2 + Long.BYTES * 2;
+    private static final int CATEGORY_BYTES = 96;
+    private static final int BASE_BYTES = 256;
+    
+    private final long loadStartedAt;
+    private final long loadFinishedAt;
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private int[] days;
+    private int[] categories;
+    private long[] cents;
+    private long[] counts;
+    private int size;
+    
+    private ExpenseColumns(long loadStartedAt, long loadFinishedAt, int capacity) {
+        this.loadStartedAt = loadStartedAt;
+        this.loadFinishedAt = loadFinishedAt;
+        this.days = new int[capacity];
+        this.categories = new int[capacity];
+        this.cents = new long[capacity];
+        this.counts = new long[capacity];
+    }
+    
+    /**
+     * @param rows rollup rows ordered by day, then category id
+     */
+    static ExpenseColumns load(List<DailyCategoryTotal> rows, long loadStartedAt, long loadFinishedAt) {
+        ExpenseColumns columns = new ExpenseColumns(loadStartedAt, loadFinishedAt, Math.max(rows.size(), 16));
+        TreeSet<Long> categoryIds = new TreeSet<>();
+        Map<Long, String> names = new HashMap<>();
+        for (DailyCategoryTotal row : rows) {
+            categoryIds.add(row.getCategoryId());
+            names.put(row.getCategoryId(), row.getCategoryName());
+        }
+        for (Long categoryId : categoryIds) {
+            columns.ordinals.put(categoryId, columns.categoryNames.size());
+            columns.categoryNames.add(names.get(categoryId));
+        }
+        for (DailyCategoryTotal row : rows) {
+            int i = columns.size++;
+            columns.days[i] = (int) row.getDay().toEpochDay();
+            columns.categories[i] = columns.ordinals.get(row.getCategoryId());
+            columns.cents[i] = ReportAggregator.toCents(row.getTotalAmount());
+            columns.counts[i] = row.getExpenseCount();
+        }
+        return columns;
+    }
+    
+    long getLoadStartedAt() {
+        return loadStartedAt;
+    }
+    
+    long getLoadFinishedAt() {
+        return loadFinishedAt;
+    }
+    
+    /**
+     * Grows when {@link #apply} grows the arrays. The store mutates a resident entry only inside
+     * the cache's {@code computeIfPresent}, which weighs the entry again after the change.
+     */
+    int estimatedBytes() {
+        return BASE_BYTES + days.length * ROW_BYTES + categoryNames.size() * CATEGORY_BYTES;
+    }
+    
+    /**
+     * Applies a rollup delta in place, dropping the row once its count reaches zero. Call it
+     * inside the resident cache's compute for the user so the new size is weighed.
+     *
+     * @return false if the category is not known to this snapshot and the user must be reloaded
+     */
+    boolean apply(LocalDate day, Long categoryId, long amountCents, long expenseCount) {
+        Integer ordinal = ordinals.get(categoryId);
+        if (ordinal == null) {
+            return false;
+        }
+        int epochDay = (int) day.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            int index = find(epochDay, ordinal);
+            if (index >= 0) {
+                cents[index] += amountCents;
+                counts[index] += expenseCount;
+                if (counts[index] <= 0) {
+                    remove(index);
+                }
+            } else if (expenseCount > 0) {
+                insert(-index - 1, epochDay, ordinal, amountCents, expenseCount);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    ReportResponse report(LocalDate startDate, LocalDate endDate, String period) {
+        long[] categoryCents = new long[categoryNames.size()];
+        boolean[] present = new boolean[categoryNames.size()];
+        long totalCents = 0;
+        long totalExpenses = 0;
+        boolean empty = true;
+        
+        lock.readLock().lock();
+        try {
+            int from = lowerBound((int) startDate.toEpochDay());
+            int to = lowerBound((int) endDate.toEpochDay() + 1);
+            for (int i = from; i < to; i++) {
+                categoryCents[categories[i]] += cents[i];
+                present[categories[i]] = true;
+                totalCents += cents[i];
+                totalExpenses += counts[i];
+                empty = false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        Map<String, BigDecimal> categoryWiseExpenses = new HashMap<>();
+        for (int ordinal = 0; ordinal < present.length; ordinal++) {
+            if (present[ordinal]) {
+                categoryWiseExpenses.merge(categoryNames.get(ordinal),
+                        BigDecimal.valueOf(categoryCents[ordinal], 2), BigDecimal::add);
+            }
+        }
+        BigDecimal totalAmount = empty ? BigDecimal.ZERO : BigDecimal.valueOf(totalCents, 2);
+        return new ReportResponse(totalAmount, totalExpenses, categoryWiseExpenses, period);
+    }
+    
+    /** First row whose day is on or after {@code epochDay}. */
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /** Index of the (day, ordinal) row, or {@code -(insertionPoint + 1)} if absent. */
+    private int find(int epochDay, int ordinal) {
+        for (int i = lowerBound(epochDay); i < size && days[i] == epochDay; i++) {
+            if (categories[i] == ordinal) {
+                return i;
+            }
+            if (categories[i] > ordinal) {
+                return -i - 1;
+            }
+        }
+        int insertionPoint = lowerBound(epochDay + 1);
+        return -insertionPoint - 1;
+    }
+    
+    private void insert(int index, int epochDay, int ordinal, long amountCents, long expenseCount) {
+        if (size == days.length) {
+            int capacity = days.length + (days.length >> 1);
+            days = Arrays.copyOf(days, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int tail = size - index;
+        System.arraycopy(days, index, days, index + 1, tail);
+        System.arraycopy(categories, index, categories, index + 1, tail);
+        System.arraycopy(cents, index, cents, index + 1, tail);
+        System.arraycopy(counts, index, counts, index + 1, tail);
+        days[index] = epochDay;
+        categories[index] = ordinal;
+        cents[index] = amountCents;
+        counts[index] = expenseCount;
+        size++;
+    }
+    
+    private void remove(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(days, index + 1, days, index, tail);
+        System.arraycopy(categories, index + 1, categories, index, tail);
+        System.arraycopy(cents, index + 1, cents, index, tail);
+        System.arraycopy(counts, index + 1, counts, index, tail);
+        size--;
+    }
+}
@@ -0,0 +1,36 @@
+package com.expensetracker.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over the {@code (expense_date, id)} listing order.
+ * Encoded as URL-safe Base64 so clients treat it as a token rather than parsing it.
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseCursor {
+    
+    private final LocalDate expenseDate;
+    private final Long id;
+    
+    public String encode() {
+        String raw = expenseDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ExpenseCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.ExpenseRequest;
+import com.expensetracker.dto.response.ImportResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.repository.CategoryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk expense import. Rows are validated individually, categories are resolved from a single
+ * lookup per import, and inserts go through JDBC batches that Connector/J rewrites into
+ * multi-row statements ({@code rewriteBatchedStatements=true}). The daily rollup is updated
+ * once per (day, category) group rather than once per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportService.class);
+    
+    public static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private static final String INSERT_SQL = "INSERT INTO expenses " +
+            "(description, amount, expense_date, user_id, category_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ExpenseRollupService rollupService;
+    private final DataVersionService dataVersionService;
+    private final Validator validator;
+    
+    @Transactional
+    public ImportResponse importExpenses(List<ExpenseRequest> requests, Long userId) {
+        List<ImportResponse.RowError> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                addError(errors, i + 1, "Row is null");
+            }
+        }
+        return importRows(userId, requests, errors, loadCategories(userId));
+    }
+    
+    /**
+     * Imports CSV with a header row naming {@code description}, {@code amount}, {@code expenseDate}
+     * and either {@code categoryId} or {@code category} (the name) in any order; other columns are
+     * ignored, so the output of the CSV export can be imported as is. Quoted fields may span lines.
+     */
+    @Transactional
+    public ImportResponse importCsv(Reader reader, Long userId) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        
+        List<String> header = readRecord(in);
+        if (header == null) {
+            throw new RuntimeException("CSV input is empty");
+        }
+        int descriptionColumn = requireColumn(header, "description");
+        int amountColumn = requireColumn(header, "amount");
+        int dateColumn = requireColumn(header, "expenseDate");
+        int categoryIdColumn = header.indexOf("categoryId");
+        int categoryNameColumn = header.indexOf("category");
+        if (categoryIdColumn < 0 && categoryNameColumn < 0) {
+            throw new RuntimeException("CSV header is missing column: categoryId or category");
+        }
+        
+        Map<Long, Category> categories = loadCategories(userId);
+        Map<String, Long> categoryIdsByName = categories.values().stream()
+                .collect(Collectors.toMap(Category::getName, Category::getId));
+        
+        List<ExpenseRequest> rows = new ArrayList<>();
+        List<ImportResponse.RowError> errors = new ArrayList<>();
+        List<String> fields;
+        while ((fields = readRecord(in)) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                ExpenseRequest request = new ExpenseRequest();
+                request.setDescription(field(fields, descriptionColumn));
+                request.setAmount(new BigDecimal(field(fields, amountColumn)));
+                request.setExpenseDate(LocalDate.parse(field(fields, dateColumn)));
+                if (categoryIdColumn >= 0) {
+                    request.setCategoryId(Long.valueOf(field(fields, categoryIdColumn)));
+                } else {
+                    String name = field(fields, categoryNameColumn);
+                    request.setCategoryId(categoryIdsByName.get(name));
+                    if (request.getCategoryId() == null) {
+                        rows.add(null);
+                        addError(errors, rows.size(), "Category not found: " + name);
+                        continue;
+                    }
+                }
+                rows.add(request);
+            } catch (RuntimeException e) {
+                rows.add(null);
+                addError(errors, rows.size(), "Malformed row: " + e.getMessage());
+            }
+        }
+        
+        return importRows(userId, rows, errors, categories);
+    }
+    
+    private Map<Long, Category> loadCategories(Long userId) {
+        return categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+    
+    /**
+     * Inserts the valid rows. A {@code null} row was rejected by the caller, which has already
+     * recorded its error; it is counted here because the error list is capped.
+     */
+    private ImportResponse importRows(Long userId, List<ExpenseRequest> rows, List<ImportResponse.RowError> errors,
+                                      Map<Long, Category> categories) {
+        long start = System.nanoTime();
+        Map<DayCategory, BigDecimal> rollupAmounts = new HashMap<>();
+        Map<DayCategory, Long> rollupCounts = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        int imported = 0;
+        int rejected = 0;
+        
+        for (int i = 0; i < rows.size(); i++) {
+            ExpenseRequest request = rows.get(i);
+            if (request == null) {
+                rejected++;
+                continue;
+            }
+            
+            String error = validate(request, categories);
+            if (error != null) {
+                rejected++;
+                addError(errors, i + 1, error);
+                continue;
+            }
+            
+            batch.add(new Object[]{request.getDescription(), request.getAmount(), request.getExpenseDate(),
+                    userId, request.getCategoryId(), now, now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+            
+            DayCategory key = new DayCategory(request.getExpenseDate(), request.getCategoryId());
+            rollupAmounts.merge(key, request.getAmount(), BigDecimal::add);
+            rollupCounts.merge(key, 1L, Long::sum);
+            imported++;
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        
+        rollupAmounts.forEach((key, amount) -> rollupService.recordAdded(userId, key.getDay(),
+                key.getCategoryId(), amount, rollupCounts.get(key)));
+        if (imported > 0) {
+            dataVersionService.bump(userId);
+        }
+        
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} expenses for user {} in {} ms ({} rejected)", imported, userId, durationMs, rejected);
+        return new ImportResponse(imported, rejected, durationMs, errors);
+    }
+    
+    private String validate(ExpenseRequest request, Map<Long, Category> categories) {
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!categories.containsKey(request.getCategoryId())) {
+            return "Category not found";
+        }
+        return null;
+    }
+    
+    private void addError(List<ImportResponse.RowError> errors, int row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportResponse.RowError(row, message));
+        }
+    }
+    
+    private int requireColumn(List<String> header, String name) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new RuntimeException("CSV header is missing column: " + name);
+        }
+        return index;
+    }
+    
+    private String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+    
+    /**
+     * Reads one CSV record (RFC 4180): fields are comma separated, quoted fields may contain commas,
+     * line breaks and doubled quotes. Returns {@code null} at end of input.
+     */
+    private List<String> readRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (; c >= 0; c = in.read()) {
+            if (quoted) {
+                if (c != '"') {
+                    current.append((char) c);
+                    continue;
+                }
+                in.mark(1);
+                if (in.read() == '"') {
+                    current.append('"');
+                } else {
+                    in.reset();
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                in.mark(1);
+                if (in.read() != '\n') {
+                    in.reset();
+                }
+                break;
+            } else {
+                current.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("CSV input ends inside a quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    @Data
+    @AllArgsConstructor
+    private static class DayCategory {
+        private LocalDate day;
+        private Long categoryId;
+    }
+}
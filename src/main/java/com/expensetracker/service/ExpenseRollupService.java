@@ -0,0 +1,97 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Expense;
+import com.expensetracker.repository.DailyExpenseSummaryRepository;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the {@code daily_expense_summaries} rollup in step with the expenses table.
+ * Mutating methods join the caller's transaction so the rollup never drifts from
+ * the rows it summarises.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseRollupService {
+    
+    private final DailyExpenseSummaryRepository summaryRepository;
+    private final ResidentExpenseStore residentStore;
+    private final ReportResultCache reportCache;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Expense expense) {
+        recordAdded(expense.getUser().getId(), expense.getExpenseDate(),
+                expense.getCategory().getId(), expense.getAmount(), 1);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Long userId, LocalDate expenseDate, Long categoryId, BigDecimal amount, long count) {
+        summaryRepository.addExpenses(userId, expenseDate, categoryId, amount, count);
+        residentStore.recordChange(userId, expenseDate, categoryId, amount, count);
+        reportCache.evictDay(userId, expenseDate);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long userId, LocalDate expenseDate, Long categoryId, BigDecimal amount) {
+        summaryRepository.removeExpense(userId, expenseDate, categoryId, amount);
+        summaryRepository.deleteIfEmpty(userId, expenseDate, categoryId);
+        residentStore.recordChange(userId, expenseDate, categoryId, amount.negate(), -1);
+        reportCache.evictDay(userId, expenseDate);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Expense expense) {
+        recordRemoved(expense.getUser().getId(), expense.getExpenseDate(),
+                expense.getCategory().getId(), expense.getAmount());
+    }
+    
+    /**
+     * Subtracts the user's expenses among {@code expenseIds}; call before deleting them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long userId, Collection<Long> expenseIds) {
+        summaryRepository.removeExpenses(userId, expenseIds);
+        summaryRepository.deleteEmpty(userId);
+        residentStore.invalidate(userId);
+        reportCache.evictUser(userId);
+    }
+    
+    /**
+     * Drops the user's days between {@code startDate} and {@code endDate}, whose expenses are
+     * all being deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemovedBetween(Long userId, LocalDate startDate, LocalDate endDate) {
+        summaryRepository.deleteByUserIdAndDateRange(userId, startDate, endDate);
+        residentStore.invalidate(userId);
+        reportCache.evictRange(userId, startDate, endDate);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCategoryMoved(Long userId, Category from, Category to) {
+        summaryRepository.mergeIntoCategory(userId, from.getId(), to.getId());
+        summaryRepository.deleteByCategory(from);
+        residentStore.invalidate(userId);
+        reportCache.evictUser(userId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CategoryTotal> getCategoryTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return summaryRepository.sumByCategory(userId, startDate, endDate);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DailyCategoryTotal> getDailyCategoryTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return summaryRepository.findDailyTotals(userId, startDate, endDate);
+    }
+}
@@ -2,96 +2,346 @@ package com.expensetracker.service;
 
 import com.expensetracker.dto.request.ExpenseRequest;
 import com.expensetracker.dto.response.CategoryResponse;
+import com.expensetracker.dto.response.ExpensePageResponse;
 import com.expensetracker.dto.response.ExpenseResponse;
 import com.expensetracker.entity.Category;
 import com.expensetracker.entity.Expense;
-import com.expensetracker.entity.User;
 import com.expensetracker.repository.CategoryRepository;
 import com.expensetracker.repository.ExpenseRepository;
 import com.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
+@Timed("expense.service")
 @RequiredArgsConstructor
 public class ExpenseService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    /** Matches InnoDB's default innodb_ft_min_token_size; shorter words are not indexed. */
+    public static final int MIN_SEARCH_TERM_LENGTH = 3;
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ExpenseRollupService rollupService;
+    private final DataVersionService dataVersionService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
     
-    public List<ExpenseResponse> getAllExpenses(String username) {
-        User user = getUserByUsername(username);
-        return expenseRepository.findByUser(user)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ExpensePageResponse getAllExpenses(Long userId, String cursor, int size) {
+        int limit = clampPageSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<ExpenseResponse> rows;
+        if (cursor == null) {
+            rows = expenseRepository.findPageByUserId(userId, pageable);
+        } else {
+            ExpenseCursor after = ExpenseCursor.decode(cursor);
+            rows = expenseRepository.findPageByUserIdAfter(userId, after.getExpenseDate(), after.getId(), pageable);
+        }
+        return toPage(rows, limit);
     }
     
-    public ExpenseResponse getExpenseById(Long id, String username) {
-        User user = getUserByUsername(username);
-        Expense expense = expenseRepository.findByIdAndUser(id, user)
+    public ExpenseResponse getExpenseById(Long id, Long userId) {
+        Expense expense = expenseRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
         return mapToResponse(expense);
     }
     
-    public List<ExpenseResponse> getExpensesByDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        return expenseRepository.findExpensesByUserAndDateRange(user, startDate, endDate)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ExpensePageResponse getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate,
+                                                      String cursor, int size) {
+        int limit = clampPageSize(size);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<ExpenseResponse> rows;
+        if (cursor == null) {
+            rows = expenseRepository.findPageByUserIdAndDateRange(userId, startDate, endDate, pageable);
+        } else {
+            ExpenseCursor after = ExpenseCursor.decode(cursor);
+            rows = expenseRepository.findPageByUserIdAndDateRangeAfter(userId, startDate, endDate,
+                    after.getExpenseDate(), after.getId(), pageable);
+        }
+        return toPage(rows, limit);
+    }
+    
+    /**
+     * Full-text search over the user's expense descriptions. Every word in {@code query} must
+     * match as a word prefix; results are ordered by relevance, then newest first, and paged by
+     * an opaque offset cursor up to {@value #MAX_SEARCH_OFFSET} results deep.
+     */
+    @Transactional(readOnly = true)
+    public ExpensePageResponse searchExpenses(Long userId, String query, LocalDate startDate, LocalDate endDate,
+                                              Long categoryId, BigDecimal minAmount, BigDecimal maxAmount,
+                                              String cursor, int size) {
+        String booleanQuery = toBooleanQuery(query);
+        int limit = clampPageSize(size);
+        int offset = cursor == null ? 0 : decodeOffset(cursor);
+        
+        List<Long> ids = expenseRepository.searchIds(userId, booleanQuery, startDate, endDate, categoryId,
+                minAmount, maxAmount, limit + 1, offset);
+        boolean hasNext = ids.size() > limit && offset + limit < MAX_SEARCH_OFFSET;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new ExpensePageResponse(List.of(), null);
+        }
+        
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<ExpenseResponse> content = new ArrayList<>(expenseRepository.findResponsesByIdIn(ids));
+        content.sort(Comparator.comparing(expense -> rank.get(expense.getId())));
+        return new ExpensePageResponse(content, hasNext ? encodeOffset(offset + limit) : null);
+    }
+    
+    /**
+     * Turns free text into a boolean-mode query requiring each word as a prefix, e.g.
+     * {@code "Uber eats"} becomes {@code "+uber* +eats*"}. Operators in the input are dropped.
+     */
+    static String toBooleanQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_SEARCH_TERM_LENGTH && terms.size() < MAX_SEARCH_TERMS) {
+                terms.add("+" + word + "*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new RuntimeException("Search needs a word of at least " + MIN_SEARCH_TERM_LENGTH
+                    + " letters or digits");
+        }
+        return String.join(" ", terms);
     }
     
-    public ExpenseResponse createExpense(ExpenseRequest request, String username) {
-        User user = getUserByUsername(username);
-        Category category = categoryRepository.findByIdAndUser(request.getCategoryId(), user)
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("offset:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static int decodeOffset(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("offset:")) {
+                throw new IllegalArgumentException(raw);
+            }
+            int offset = Integer.parseInt(raw.substring("offset:".length()));
+            if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+                throw new IllegalArgumentException(raw);
+            }
+            return offset;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
+    /**
+     * Streams every expense of the user to {@code writer} in date order. Rows are read through a
+     * server-side cursor and the persistence context is cleared every batch, so memory use does
+     * not grow with the size of the history.
+     */
+    @Transactional(readOnly = true)
+    public void exportExpenses(Long userId, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write("id,expenseDate,amount,category,description,createdAt,updatedAt\n");
+        }
+        
+        try (Stream<Expense> expenses = expenseRepository.streamByUserId(userId)) {
+            Iterator<Expense> iterator = expenses.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(expense, writer);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(mapToResponse(expense)));
+                    writer.write('\n');
+                }
+                
+                if (++written % ExpenseRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    @Transactional
+    public ExpenseResponse createExpense(ExpenseRequest request, Long userId) {
+        Category category = categoryRepository.findOwnedById(request.getCategoryId(), userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
         Expense expense = new Expense();
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
         expense.setExpenseDate(request.getExpenseDate());
-        expense.setUser(user);
+        expense.setUser(userRepository.getReferenceById(userId));
         expense.setCategory(category);
         
         Expense savedExpense = expenseRepository.save(expense);
+        rollupService.recordAdded(savedExpense);
+        dataVersionService.bump(userId);
         return mapToResponse(savedExpense);
     }
     
-    public ExpenseResponse updateExpense(Long id, ExpenseRequest request, String username) {
-        User user = getUserByUsername(username);
-        Expense expense = expenseRepository.findByIdAndUser(id, user)
+    @Transactional
+    public ExpenseResponse updateExpense(Long id, ExpenseRequest request, Long userId) {
+        Expense expense = expenseRepository.findForUpdate(id, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
         
-        Category category = categoryRepository.findByIdAndUser(request.getCategoryId(), user)
+        Category category = categoryRepository.findOwnedById(request.getCategoryId(), userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
+        LocalDate previousDate = expense.getExpenseDate();
+        Long previousCategoryId = expense.getCategory().getId();
+        BigDecimal previousAmount = expense.getAmount();
+        
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
         expense.setExpenseDate(request.getExpenseDate());
         expense.setCategory(category);
         
         Expense updatedExpense = expenseRepository.save(expense);
+        rollupService.recordRemoved(userId, previousDate, previousCategoryId, previousAmount);
+        rollupService.recordAdded(updatedExpense);
+        dataVersionService.bump(userId);
         return mapToResponse(updatedExpense);
     }
     
-    public void deleteExpense(Long id, String username) {
-        User user = getUserByUsername(username);
-        Expense expense = expenseRepository.findByIdAndUser(id, user)
+    @Transactional
+    public void deleteExpense(Long id, Long userId) {
+        Expense expense = expenseRepository.findForUpdate(id, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
+        rollupService.recordRemoved(expense);
         expenseRepository.delete(expense);
+        dataVersionService.bump(userId);
+    }
+    
+    /**
+     * Deletes the user's expenses among {@code ids} in one statement; IDs of missing or other
+     * users' expenses are ignored.
+     *
+     * @return the number of expenses deleted
+     */
+    @Transactional
+    public int deleteExpenses(Collection<Long> ids, Long userId) {
+        rollupService.recordRemoved(userId, ids);
+        int deleted = expenseRepository.deleteByUserIdAndIdIn(userId, ids);
+        if (deleted > 0) {
+            dataVersionService.bump(userId);
+        }
+        return deleted;
     }
     
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional
+    public int deleteExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        rollupService.recordRemovedBetween(userId, startDate, endDate);
+        int deleted = expenseRepository.deleteByUserIdAndDateRange(userId, startDate, endDate);
+        if (deleted > 0) {
+            dataVersionService.bump(userId);
+        }
+        return deleted;
+    }
+    
+    /**
+     * Moves every expense of one category to another with a single update.
+     *
+     * @return the number of expenses moved
+     */
+    @Transactional
+    public int moveExpenses(Long fromCategoryId, Long toCategoryId, Long userId) {
+        if (fromCategoryId.equals(toCategoryId)) {
+            throw new RuntimeException("Source and target category must differ");
+        }
+        Category from = categoryRepository.findOwnedById(fromCategoryId, userId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category to = categoryRepository.findOwnedById(toCategoryId, userId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        
+        rollupService.recordCategoryMoved(userId, from, to);
+        int moved = expenseRepository.moveToCategory(userId, from, to, LocalDateTime.now());
+        if (moved > 0) {
+            dataVersionService.bump(userId);
+        }
+        return moved;
+    }
+    
+    private void writeCsvRow(Expense expense, Writer writer) throws IOException {
+        writer.write(String.valueOf(expense.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(expense.getExpenseDate()));
+        writer.write(',');
+        writer.write(expense.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(expense.getCategory().getName()));
+        writer.write(',');
+        writer.write(csvField(expense.getDescription()));
+        writer.write(',');
+        writer.write(csvField(expense.getCreatedAt()));
+        writer.write(',');
+        writer.write(csvField(expense.getUpdatedAt()));
+        writer.write('\n');
+    }
+    
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+    
+    private int clampPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+    
+    private ExpensePageResponse toPage(List<ExpenseResponse> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new ExpensePageResponse(rows, null);
+        }
+        
+        List<ExpenseResponse> content = rows.subList(0, limit);
+        ExpenseResponse last = content.get(limit - 1);
+        String nextCursor = new ExpenseCursor(last.getExpenseDate(), last.getId()).encode();
+        return new ExpensePageResponse(content, nextCursor);
     }
     
     private ExpenseResponse mapToResponse(Expense expense) {
@@ -112,4 +362,26 @@ public class ExpenseService {
         
         return response;
     }
+    
+    @Getter
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public static ExportFormat from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
 }
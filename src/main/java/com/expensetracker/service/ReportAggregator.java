@@ -0,0 +1,117 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.repository.projection.CategoryTotal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Folds category totals into {@link ReportResponse}s. Amounts are summed as {@code long} cents in
+ * primitive arrays indexed by dense category ordinals. Inputs are already grouped by SQL (one row
+ * per category, or per day and category), so even a yearly dashboard folds a few thousand rows and
+ * runs sequentially on the request thread.
+ */
+public final class ReportAggregator {
+    
+    private static final int CENTS_SCALE = 2;
+    
+    private ReportAggregator() {
+    }
+    
+    public static <T extends CategoryTotal> ReportResponse aggregate(List<T> rows, String period) {
+        return aggregate(rows, List.<Predicate<? super T>>of(row -> true), List.of(period)).get(0);
+    }
+    
+    /**
+     * Builds one report per bucket in a single pass; a row counts towards every bucket whose
+     * predicate accepts it.
+     */
+    public static <T extends CategoryTotal> List<ReportResponse> aggregate(
+            List<T> rows, List<Predicate<? super T>> buckets, List<String> periods) {
+        List<String> categoryNames = new ArrayList<>();
+        Map<String, Integer> ordinals = new HashMap<>();
+        int[] rowOrdinals = new int[rows.size()];
+        for (int i = 0; i < rowOrdinals.length; i++) {
+            rowOrdinals[i] = ordinals.computeIfAbsent(rows.get(i).getCategoryName(), name -> {
+                categoryNames.add(name);
+                return categoryNames.size() - 1;
+            });
+        }
+        
+        int categoryCount = categoryNames.size();
+        Totals totals = new Totals(buckets.size(), categoryCount);
+        for (int i = 0; i < rowOrdinals.length; i++) {
+            T row = rows.get(i);
+            long cents = toCents(row.getTotalAmount());
+            long count = row.getExpenseCount();
+            for (int bucket = 0; bucket < buckets.size(); bucket++) {
+                if (buckets.get(bucket).test(row)) {
+                    totals.add(bucket * categoryCount + rowOrdinals[i], cents, count);
+                }
+            }
+        }
+        
+        List<ReportResponse> reports = new ArrayList<>(buckets.size());
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            reports.add(totals.toResponse(bucket, categoryNames, periods.get(bucket)));
+        }
+        return reports;
+    }
+    
+    /**
+     * Throws {@link ArithmeticException} for sub-cent amounts; the {@code @Digits} constraint on
+     * {@link com.expensetracker.dto.request.ExpenseRequest#getAmount} keeps them out of the rollup.
+     */
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(CENTS_SCALE).longValueExact();
+    }
+    
+    /**
+     * Per-bucket, per-category sums laid out as {@code bucket * categoryCount + ordinal}.
+     */
+    private static final class Totals {
+        
+        private final int categoryCount;
+        private final long[] cents;
+        private final long[] counts;
+        private final int[] rowCounts;
+        
+        Totals(int bucketCount, int categoryCount) {
+            this.categoryCount = categoryCount;
+            this.cents = new long[bucketCount * categoryCount];
+            this.counts = new long[bucketCount * categoryCount];
+            this.rowCounts = new int[bucketCount * categoryCount];
+        }
+        
+        void add(int cell, long amountCents, long expenseCount) {
+            cents[cell] += amountCents;
+            counts[cell] += expenseCount;
+            rowCounts[cell]++;
+        }
+        
+        ReportResponse toResponse(int bucket, List<String> categoryNames, String period) {
+            long totalCents = 0;
+            long totalExpenses = 0;
+            boolean empty = true;
+            Map<String, BigDecimal> categoryWiseExpenses = new HashMap<>();
+            for (int ordinal = 0; ordinal < categoryCount; ordinal++) {
+                int cell = bucket * categoryCount + ordinal;
+                if (rowCounts[cell] == 0) {
+                    continue;
+                }
+                empty = false;
+                totalCents += cents[cell];
+                totalExpenses += counts[cell];
+                categoryWiseExpenses.put(categoryNames.get(ordinal), BigDecimal.valueOf(cents[cell], CENTS_SCALE));
+            }
+            // An empty report keeps the unscaled zero the BigDecimal fold always returned
+            BigDecimal totalAmount = empty ? BigDecimal.ZERO : BigDecimal.valueOf(totalCents, CENTS_SCALE);
+            return new ReportResponse(totalAmount, totalExpenses, categoryWiseExpenses, period);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of computed reports keyed by user, period label and date range. A change to an
+ * expense on a given day evicts only that user's cached periods containing the day.
+ * <p>
+ * Evictions run after commit. A report computed while an eviction for the same user was pending
+ * is returned but not cached, so a result read before the commit cannot outlive it.
+ */
+@Service
+public class ReportResultCache {
+    
+    public static final String CACHE_NAME = "reportResults";
+    
+    private final Cache<ReportKey, ReportResponse> reports;
+    private final Map<Long, Set<ReportKey>> keysByUser = new ConcurrentHashMap<>();
+    private final Cache<Long, Long> lastEvictionByUser = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter periodEvictions;
+    
+    public ReportResultCache(MeterRegistry meterRegistry,
+                             @Value("${app.reports.cache.max-size:10000}") long maxSize) {
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .evictionListener((ReportKey key, ReportResponse report, RemovalCause cause) -> removeFromIndex(key))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, CACHE_NAME);
+        this.periodEvictions = Counter.builder("reports.cache.period.evictions")
+                .description("Cached reports evicted because an expense in their period changed")
+                .register(meterRegistry);
+    }
+    
+    public ReportResponse get(Long userId, String period, LocalDate startDate, LocalDate endDate,
+                              Supplier<ReportResponse> compute) {
+        ReportKey key = new ReportKey(userId, period, startDate, endDate);
+        ReportResponse cached = reports.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long startedAt = sequence.incrementAndGet();
+        ReportResponse report = compute.get();
+        reports.asMap().compute(key, (k, previous) -> addToIndex(k, startedAt) ? report : previous);
+        return report;
+    }
+    
+    /**
+     * Evicts the user's cached periods containing {@code day} once the current transaction commits.
+     */
+    public void evictDay(Long userId, LocalDate day) {
+        evictRange(userId, day, day);
+    }
+    
+    /**
+     * Evicts the user's cached periods overlapping {@code startDate}..{@code endDate} once the
+     * current transaction commits.
+     */
+    public void evictRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        afterCommit(userId, key -> !endDate.isBefore(key.getStartDate()) && !startDate.isAfter(key.getEndDate()));
+    }
+    
+    /**
+     * Evicts every cached report for the user, e.g. after a category is renamed or deleted.
+     */
+    public void evictUser(Long userId) {
+        afterCommit(userId, key -> true);
+    }
+    
+    private void afterCommit(Long userId, Predicate<ReportKey> affected) {
+        Runnable evict = () -> {
+            List<ReportKey> evicted = new ArrayList<>();
+            keysByUser.compute(userId, (id, keys) -> {
+                lastEvictionByUser.put(userId, sequence.incrementAndGet());
+                if (keys != null) {
+                    keys.stream().filter(affected).forEach(evicted::add);
+                }
+                return keys;
+            });
+            for (ReportKey key : evicted) {
+                reports.asMap().computeIfPresent(key, (k, report) -> {
+                    removeFromIndex(k);
+                    periodEvictions.increment();
+                    return null;
+                });
+            }
+        };
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+    
+    /**
+     * Indexes the key unless the user had an eviction after {@code startedAt}. Runs inside the
+     * cache's per-key compute and under the user's index slot, the same slot evictions snapshot
+     * under, so a key is either seen by a concurrent eviction or refused.
+     */
+    private boolean addToIndex(ReportKey key, long startedAt) {
+        boolean[] added = new boolean[1];
+        keysByUser.compute(key.getUserId(), (userId, keys) -> {
+            Long lastEviction = lastEvictionByUser.getIfPresent(userId);
+            if (lastEviction != null && lastEviction > startedAt) {
+                return keys;
+            }
+            Set<ReportKey> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            updated.add(key);
+            added[0] = true;
+            return updated;
+        });
+        return added[0];
+    }
+    
+    private void removeFromIndex(ReportKey key) {
+        keysByUser.computeIfPresent(key.getUserId(), (userId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+    
+    @Data
+    @AllArgsConstructor
+    private static class ReportKey {
+        private Long userId;
+        private String period;
+        private LocalDate startDate;
+        private LocalDate endDate;
+    }
+}
@@ -1,82 +1,218 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.response.DashboardResponse;
 import com.expensetracker.dto.response.ReportResponse;
-import com.expensetracker.entity.Expense;
-import com.expensetracker.entity.User;
+import com.expensetracker.dto.response.TimeSeriesResponse;
 import com.expensetracker.repository.ExpenseRepository;
-import com.expensetracker.repository.UserRepository;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
+@Timed("report.service")
 @RequiredArgsConstructor
 public class ReportService {
     
+    private static final int MAX_TIME_SERIES_BUCKETS = 3660;
+    
+    private final ExpenseRollupService rollupService;
     private final ExpenseRepository expenseRepository;
-    private final UserRepository userRepository;
+    private final ResidentExpenseStore residentStore;
+    private final ReportResultCache reportCache;
+    
+    @Value("${app.reports.use-rollup:true}")
+    private boolean useRollup;
     
-    public ReportResponse getMonthlyReport(String username, int year, int month) {
-        User user = getUserByUsername(username);
+    public ReportResponse getMonthlyReport(Long userId, int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
         
-        List<Expense> expenses = expenseRepository.findExpensesByUserAndDateRange(user, startDate, endDate);
-        
-        return generateReport(expenses, "Monthly Report - " + yearMonth);
+        return generateReport(userId, startDate, endDate, "Monthly Report - " + yearMonth);
     }
     
-    public ReportResponse getWeeklyReport(String username, LocalDate startDate) {
-        User user = getUserByUsername(username);
+    public ReportResponse getWeeklyReport(Long userId, LocalDate startDate) {
         LocalDate endDate = startDate.plusDays(6);
         
-        List<Expense> expenses = expenseRepository.findExpensesByUserAndDateRange(user, startDate, endDate);
-        
-        return generateReport(expenses, "Weekly Report - " + startDate + " to " + endDate);
+        return generateReport(userId, startDate, endDate, "Weekly Report - " + startDate + " to " + endDate);
     }
     
-    public ReportResponse getCategoryWiseReport(String username, LocalDate startDate, LocalDate endDate) {
-        User user = getUserByUsername(username);
-        List<Expense> expenses = expenseRepository.findExpensesByUserAndDateRange(user, startDate, endDate);
-        
-        return generateReport(expenses, "Category-wise Report - " + startDate + " to " + endDate);
+    public ReportResponse getCategoryWiseReport(Long userId, LocalDate startDate, LocalDate endDate) {
+        return generateReport(userId, startDate, endDate, "Category-wise Report - " + startDate + " to " + endDate);
     }
     
-    public ReportResponse getYearlyReport(String username, int year) {
-        User user = getUserByUsername(username);
+    public ReportResponse getYearlyReport(Long userId, int year) {
         LocalDate startDate = LocalDate.of(year, 1, 1);
         LocalDate endDate = LocalDate.of(year, 12, 31);
         
-        List<Expense> expenses = expenseRepository.findExpensesByUserAndDateRange(user, startDate, endDate);
+        return generateReport(userId, startDate, endDate, "Yearly Report - " + year);
+    }
+    
+    /**
+     * Week (Monday to Sunday), month and year reports around {@code date}, built from a single
+     * query over the union of the three ranges.
+     */
+    public DashboardResponse getDashboard(Long userId, LocalDate date) {
+        LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate weekEnd = weekStart.plusDays(6);
+        YearMonth yearMonth = YearMonth.from(date);
+        LocalDate yearStart = date.withDayOfYear(1);
+        LocalDate yearEnd = yearStart.plusYears(1).minusDays(1);
         
-        return generateReport(expenses, "Yearly Report - " + year);
+        String weekPeriod = "Weekly Report - " + weekStart + " to " + weekEnd;
+        String monthPeriod = "Monthly Report - " + yearMonth;
+        String yearPeriod = "Yearly Report - " + date.getYear();
+        
+        Optional<ExpenseColumns> resident = residentStore.columnsFor(userId);
+        if (resident.isPresent()) {
+            ExpenseColumns columns = resident.get();
+            return new DashboardResponse(
+                    columns.report(weekStart, weekEnd, weekPeriod),
+                    columns.report(yearMonth.atDay(1), yearMonth.atEndOfMonth(), monthPeriod),
+                    columns.report(yearStart, yearEnd, yearPeriod));
+        }
+        
+        LocalDate scanStart = weekStart.isBefore(yearStart) ? weekStart : yearStart;
+        LocalDate scanEnd = weekEnd.isAfter(yearEnd) ? weekEnd : yearEnd;
+        List<DailyCategoryTotal> dailyTotals = useRollup
+                ? rollupService.getDailyCategoryTotals(userId, scanStart, scanEnd)
+                : expenseRepository.sumByDayAndCategory(userId, scanStart, scanEnd);
+        
+        List<Predicate<? super DailyCategoryTotal>> periods = List.of(
+                total -> !total.getDay().isBefore(weekStart) && !total.getDay().isAfter(weekEnd),
+                total -> YearMonth.from(total.getDay()).equals(yearMonth),
+                total -> total.getDay().getYear() == date.getYear());
+        List<ReportResponse> reports = ReportAggregator.aggregate(dailyTotals, periods,
+                List.of(weekPeriod, monthPeriod, yearPeriod));
+        
+        return new DashboardResponse(reports.get(0), reports.get(1), reports.get(2));
     }
     
-    private ReportResponse generateReport(List<Expense> expenses, String period) {
-        BigDecimal totalAmount = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Totals and counts per day, week (Monday start) or month between {@code start} and {@code end},
+     * aggregated in one pass over the per-day category totals. Empty buckets are zero.
+     */
+    public TimeSeriesResponse getTimeSeries(Long userId, LocalDate start, LocalDate end, TimeBucket bucket,
+                                            Long categoryId, boolean byCategory) {
+        if (end.isBefore(start)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        LocalDate first = bucket.floor(start);
+        int bucketCount = bucket.index(first, end) + 1;
+        if (bucketCount > MAX_TIME_SERIES_BUCKETS) {
+            throw new RuntimeException("Too many buckets, narrow the range or use a coarser bucket");
+        }
         
-        long totalExpenses = expenses.size();
+        List<DailyCategoryTotal> dailyTotals = useRollup
+                ? rollupService.getDailyCategoryTotals(userId, start, end)
+                : expenseRepository.sumByDayAndCategory(userId, start, end);
         
-        Map<String, BigDecimal> categoryWiseExpenses = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        expense -> expense.getCategory().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
+        long[] cents = new long[bucketCount];
+        long[] counts = new long[bucketCount];
+        Map<String, long[]> categoryCents = byCategory ? new HashMap<>() : null;
+        for (DailyCategoryTotal total : dailyTotals) {
+            if (categoryId != null && !categoryId.equals(total.getCategoryId())) {
+                continue;
+            }
+            int index = bucket.index(first, total.getDay());
+            long amountCents = ReportAggregator.toCents(total.getTotalAmount());
+            cents[index] += amountCents;
+            counts[index] += total.getExpenseCount();
+            if (categoryCents != null) {
+                categoryCents.computeIfAbsent(total.getCategoryName(), name -> new long[bucketCount])[index] += amountCents;
+            }
+        }
         
-        return new ReportResponse(totalAmount, totalExpenses, categoryWiseExpenses, period);
+        LocalDate[] bucketStarts = new LocalDate[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            bucketStarts[i] = bucket.start(first, i);
+        }
+        Map<String, BigDecimal[]> categoryTotals = null;
+        if (categoryCents != null) {
+            categoryTotals = new HashMap<>();
+            for (Map.Entry<String, long[]> entry : categoryCents.entrySet()) {
+                categoryTotals.put(entry.getKey(), toAmounts(entry.getValue()));
+            }
+        }
+        return new TimeSeriesResponse(bucket.name().toLowerCase(Locale.ROOT), bucketStarts,
+                toAmounts(cents), counts, categoryTotals);
+    }
+    
+    private static BigDecimal[] toAmounts(long[] cents) {
+        BigDecimal[] amounts = new BigDecimal[cents.length];
+        for (int i = 0; i < cents.length; i++) {
+            amounts[i] = BigDecimal.valueOf(cents[i], 2);
+        }
+        return amounts;
     }
     
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private ReportResponse generateReport(Long userId, LocalDate startDate, LocalDate endDate, String period) {
+        return reportCache.get(userId, period, startDate, endDate,
+                () -> computeReport(userId, startDate, endDate, period));
+    }
+    
+    private ReportResponse computeReport(Long userId, LocalDate startDate, LocalDate endDate, String period) {
+        Optional<ExpenseColumns> resident = residentStore.columnsFor(userId);
+        if (resident.isPresent()) {
+            return resident.get().report(startDate, endDate, period);
+        }
+        
+        List<CategoryTotal> totals = useRollup
+                ? rollupService.getCategoryTotals(userId, startDate, endDate)
+                : expenseRepository.sumByCategoryAndDateRange(userId, startDate, endDate);
+        
+        return ReportAggregator.aggregate(totals, period);
+    }
+    
+    public enum TimeBucket {
+        DAY(ChronoUnit.DAYS),
+        WEEK(ChronoUnit.WEEKS),
+        MONTH(ChronoUnit.MONTHS);
+        
+        private final ChronoUnit unit;
+        
+        TimeBucket(ChronoUnit unit) {
+            this.unit = unit;
+        }
+        
+        LocalDate floor(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+        
+        int index(LocalDate first, LocalDate date) {
+            return (int) unit.between(first, floor(date));
+        }
+        
+        LocalDate start(LocalDate first, int index) {
+            return first.plus(index, unit);
+        }
+        
+        public static TimeBucket from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported bucket: " + value);
+            }
+        }
     }
 }
@@ -0,0 +1,164 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.DailyExpenseSummaryRepository;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Optional in-process copy of each active user's daily rollup as {@link ExpenseColumns}, so
+ * reports for resident users never touch the database. Users are loaded on first report and
+ * evicted by Caffeine once the estimated footprint exceeds {@code app.reports.resident.max-bytes}.
+ * Rollup deltas are applied after commit; a delta that may overlap a concurrent load drops the
+ * user instead, and the next report reloads it. Loads run outside the cache so the query never
+ * holds a cache lock (which would pin a virtual thread).
+ */
+@Service
+@RequiredArgsConstructor
+public class ResidentExpenseStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResidentExpenseStore.class);
+    
+    private final DailyExpenseSummaryRepository summaryRepository;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    /** Latest commit sequence per user stripe, so a load that overlapped a commit is not kept. */
+    private final AtomicLongArray lastCommitByStripe = new AtomicLongArray(1024);
+    
+    @Value("${app.reports.resident.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${app.reports.resident.max-bytes:134217728}")
+    private long maxBytes;
+    
+    private Cache<Long, ExpenseColumns> residents;
+    
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            residents = Caffeine.newBuilder()
+                    .maximumWeight(maxBytes)
+                    .weigher((Long userId, ExpenseColumns columns) -> columns.estimatedBytes())
+                    .build();
+        }
+    }
+    
+    /**
+     * The user's resident columns, loading them if needed; empty when the store is disabled.
+     * Concurrent misses for one user may both load; the columns are kept only if no change for
+     * the user's stripe committed after the load started, otherwise they serve this report only.
+     */
+    Optional<ExpenseColumns> columnsFor(Long userId) {
+        if (residents == null) {
+            return Optional.empty();
+        }
+        ExpenseColumns resident = residents.getIfPresent(userId);
+        if (resident != null) {
+            return Optional.of(resident);
+        }
+        ExpenseColumns loaded = load(userId);
+        resident = residents.asMap().compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return lastCommitByStripe.get(stripe(id)) < loaded.getLoadStartedAt() ? loaded : null;
+        });
+        return Optional.of(resident != null ? resident : loaded);
+    }
+    
+    /**
+     * Mirrors a rollup delta once the surrounding transaction commits.
+     */
+    public void recordChange(Long userId, LocalDate day, Long categoryId, BigDecimal amount, long count) {
+        if (residents == null) {
+            return;
+        }
+        long amountCents = ReportAggregator.toCents(amount);
+        afterCommit(userId, columns -> columns.apply(day, categoryId, amountCents, count));
+    }
+    
+    /**
+     * Drops the user once the surrounding transaction commits, e.g. after a category rename.
+     */
+    public void invalidate(Long userId) {
+        if (residents == null) {
+            return;
+        }
+        afterCommit(userId, columns -> false);
+    }
+    
+    private ExpenseColumns load(Long userId) {
+        long startedAt = sequence.incrementAndGet();
+        List<DailyCategoryTotal> rows = summaryRepository.findAllDailyTotals(userId);
+        long finishedAt = sequence.incrementAndGet();
+        logger.debug("Loaded {} rollup rows for resident user {}", rows.size(), userId);
+        return ExpenseColumns.load(rows, startedAt, finishedAt);
+    }
+    
+    /**
+     * Estimated bytes held, as weighed by the cache after pending maintenance has run.
+     */
+    long residentBytes() {
+        if (residents == null) {
+            return 0;
+        }
+        residents.cleanUp();
+        return residents.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+    
+    /**
+     * Runs {@code change} against the resident columns after commit. The change is applied only
+     * when the snapshot was read before the change was registered; a snapshot read after
+     * the commit already contains it, and anything in between is ambiguous and evicted. The
+     * change runs inside {@code computeIfPresent}, so Caffeine weighs the mutated columns again
+     * and a user whose history grows past the budget is evicted.
+     */
+    private void afterCommit(Long userId, Predicate<ExpenseColumns> change) {
+        long registeredAt = sequence.incrementAndGet();
+        Runnable apply = () -> {
+            long committedAt = sequence.incrementAndGet();
+            lastCommitByStripe.accumulateAndGet(stripe(userId), committedAt, Math::max);
+            residents.asMap().computeIfPresent(userId, (id, columns) -> {
+                if (columns.getLoadStartedAt() > committedAt) {
+                    return columns;
+                }
+                if (columns.getLoadFinishedAt() < registeredAt && change.test(columns)) {
+                    return columns;
+                }
+                return null;
+            });
+        };
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+    
+    private int stripe(Long userId) {
+        return Long.hashCode(userId) & (lastCommitByStripe.length() - 1);
+    }
+}
@@ -0,0 +1,2 @@
+-- Account status carried in the JWT principal and re-checked by UserStatusCache; existing users stay enabled.
+ALTER TABLE users ADD COLUMN enabled BOOLEAN NOT NULL DEFAULT TRUE;
@@ -0,0 +1,19 @@
+-- Per-user, per-day, per-category rollup maintained by ExpenseRollupService alongside every expense write.
+CREATE TABLE daily_expense_summaries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    summary_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    total_amount DECIMAL(15, 2) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_summaries_user_date_category UNIQUE (user_id, summary_date, category_id),
+    CONSTRAINT fk_daily_summaries_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_daily_summaries_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+-- Backfill from the expenses already present, in the same migration so reports are correct on first start.
+INSERT INTO daily_expense_summaries (user_id, summary_date, category_id, total_amount, expense_count)
+SELECT user_id, expense_date, category_id, SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, expense_date, category_id;
@@ -0,0 +1,22 @@
+-- Keyset pagination of a user's expenses, newest first (ExpenseRepository.findPageByUserId*).
+CREATE INDEX idx_expenses_user_date_id ON expenses (user_id, expense_date, id);
+
+-- Covers the report aggregates (sumByCategoryAndDateRange, sumByDayAndCategory) without touching
+-- the clustered index: user_id and expense_date drive the range scan, category_id and amount are
+-- read from the index.
+CREATE INDEX idx_expenses_user_date_category_amount ON expenses (user_id, expense_date, category_id, amount);
+
+-- Filtering a user's expenses by category.
+CREATE INDEX idx_expenses_user_category ON expenses (user_id, category_id);
+
+-- Databases upgraded from ddl-auto may hold one name twice for a user; every copy after the first
+-- is renamed to "<name> (<id>)" so the constraint below can be added. The derived table lets MySQL
+-- select from the table it updates.
+UPDATE categories SET name = CONCAT(LEFT(name, 230), ' (', id, ')')
+WHERE id IN (SELECT id FROM (
+    SELECT c.id FROM categories c
+    JOIN categories earlier ON earlier.user_id = c.user_id AND earlier.name = c.name AND earlier.id < c.id
+) duplicates);
+
+-- One category name per user; CategoryService relies on this instead of checking first.
+ALTER TABLE categories ADD CONSTRAINT uk_categories_user_name UNIQUE (user_id, name);
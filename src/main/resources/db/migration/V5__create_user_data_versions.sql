@@ -0,0 +1,7 @@
+-- Per-user data version behind the ETags on expense, category and report reads.
+CREATE TABLE user_data_versions (
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_data_versions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
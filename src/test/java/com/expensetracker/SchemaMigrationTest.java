@@ -0,0 +1,88 @@
+package com.expensetracker;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Upgrades a database created by the last ddl-auto=update build with the Flyway settings from
+ * application.properties and compares it with one built by the migrations alone.
+ */
+class SchemaMigrationTest {
+    
+    private static final String COLUMNS = "SELECT table_name, column_name, data_type, is_nullable "
+            + "FROM information_schema.columns WHERE table_schema = 'public' "
+            + "AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name";
+    private static final String NAMED_INDEXES = "SELECT table_name, index_name FROM information_schema.indexes "
+            + "WHERE table_schema = 'public' AND (index_name LIKE 'idx\\_%' OR index_name LIKE 'uk\\_categories\\_%' "
+            + "OR index_name LIKE 'uk\\_daily\\_%') ORDER BY index_name";
+    
+    @Test
+    void upgradesDdlAutoDatabaseToFreshSchema() throws Exception {
+        DataSource existing = h2("ddl_auto_upgrade");
+        try (Connection connection = existing.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/ddl-auto-baseline.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(existing);
+        jdbc.update("INSERT INTO users (id, username, email, password, role, created_at) "
+                + "VALUES (1, 'alice', 'alice@test', 'x', 'USER', CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO categories (id, name, user_id, created_at) VALUES (1, 'Food', 1, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO categories (id, name, user_id, created_at) VALUES (2, 'Travel', 1, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO categories (id, name, user_id, created_at) VALUES (3, 'Food', 1, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO expenses (description, amount, expense_date, user_id, category_id, created_at) VALUES "
+                + "('Lunch', 12.50, '2024-03-01', 1, 1, CURRENT_TIMESTAMP), "
+                + "('Dinner', 30.25, '2024-03-01', 1, 1, CURRENT_TIMESTAMP), "
+                + "('Taxi', 18.00, '2024-03-01', 1, 2, CURRENT_TIMESTAMP), "
+                + "('Coffee', 3.75, '2024-03-02', 1, 1, CURRENT_TIMESTAMP)");
+        
+        migrate(existing);
+        DataSource fresh = h2("fresh_schema");
+        migrate(fresh);
+        
+        JdbcTemplate freshJdbc = new JdbcTemplate(fresh);
+        assertThat(jdbc.queryForList(COLUMNS)).isEqualTo(freshJdbc.queryForList(COLUMNS));
+        assertThat(jdbc.queryForList(NAMED_INDEXES)).isEqualTo(freshJdbc.queryForList(NAMED_INDEXES));
+        assertThat(jdbc.queryForObject("SELECT enabled FROM users WHERE id = 1", Boolean.class)).isTrue();
+        assertThat(jdbc.queryForList("SELECT name FROM categories ORDER BY id", String.class))
+                .containsExactly("Food", "Travel", "Food (3)");
+        List<Map<String, Object>> rollup = jdbc.queryForList("SELECT summary_date, category_id, total_amount, "
+                + "expense_count FROM daily_expense_summaries ORDER BY summary_date, category_id");
+        assertThat(rollup).extracting(row -> row.get("total_amount").toString(), row -> row.get("expense_count"))
+                .containsExactly(
+                        tuple("42.75", 2L),
+                        tuple("18.00", 1L),
+                        tuple("3.75", 1L));
+    }
+    
+    private static void migrate(DataSource dataSource) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                .load()
+                .migrate();
+    }
+    
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.dto.request;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseRequestTest {
+    
+    private static final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+    private static final Validator validator = factory.getValidator();
+    
+    @AfterAll
+    static void close() {
+        factory.close();
+    }
+    
+    @Test
+    void acceptsAmountsThatFitTheColumn() {
+        assertThat(validator.validate(request("0.01"))).isEmpty();
+        assertThat(validator.validate(request("99999999.99"))).isEmpty();
+    }
+    
+    @Test
+    void rejectsSubCentAmounts() {
+        assertThat(validator.validate(request("1.005")))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("amount");
+    }
+    
+    @Test
+    void rejectsAmountsTooLargeForTheColumn() {
+        assertThat(validator.validate(request("100000000.00")))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("amount");
+    }
+    
+    private static ExpenseRequest request(String amount) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Lunch");
+        request.setAmount(new BigDecimal(amount));
+        request.setExpenseDate(LocalDate.of(2024, 3, 1));
+        request.setCategoryId(1L);
+        return request;
+    }
+}
@@ -0,0 +1,31 @@
+package com.expensetracker.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate prepares, so tests can EXPLAIN the statements repositories actually run.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+    
+    static void clear() {
+        statements.clear();
+    }
+    
+    static String last() {
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No statement was prepared");
+        }
+        return statements.get(statements.size() - 1);
+    }
+}
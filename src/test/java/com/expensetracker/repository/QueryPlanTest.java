@@ -0,0 +1,149 @@
+package com.expensetracker.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the keyset, report and rollup queries are planned on the indexes the migrations
+ * create. The SQL is the one Hibernate generates for each repository method, explained by H2 in
+ * MySQL mode on the Flyway-built schema; MySQL's planner may weigh indexes differently, but a query
+ * that cannot use its index here cannot use it there either.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.expensetracker.repository.CapturingStatementInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+    
+    private static final String USER_INDEX = "(?:idx_expenses_user_\\w+|fk_expenses_user\\w*)";
+    private static final String USER_DATE_INDEX = "idx_expenses_user_date_(?:id|category_amount)";
+    private static final String ROLLUP_KEY = "uk_daily_summaries_user_date_category\\w*";
+    
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private DailyExpenseSummaryRepository summaryRepository;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    /** Seeded once: H2's ANALYZE commits, so the data cannot be rolled back per test. */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (long userId = 1; userId <= 3; userId++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, enabled, created_at) "
+                    + "VALUES (?, ?, ?, 'x', 'USER', TRUE, CURRENT_TIMESTAMP)", userId, "user" + userId, userId + "@test");
+            for (long category = 0; category < 4; category++) {
+                jdbcTemplate.update("INSERT INTO categories (id, name, user_id, created_at) "
+                        + "VALUES (?, ?, ?, CURRENT_TIMESTAMP)", userId * 10 + category, "c" + category, userId);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses (description, amount, expense_date, user_id, category_id, created_at) "
+                + "VALUES ('seed', ?, ?, ?, ?, CURRENT_TIMESTAMP)", IntStream.range(0, 3000)
+                .mapToObj(i -> new Object[]{1 + i % 97, START.plusDays(i % 365), 1 + i % 3, (1 + i % 3) * 10 + i % 4})
+                .toList());
+        jdbcTemplate.update("INSERT INTO daily_expense_summaries (user_id, summary_date, category_id, total_amount, expense_count) "
+                + "SELECT user_id, expense_date, category_id, SUM(amount), COUNT(*) FROM expenses "
+                + "GROUP BY user_id, expense_date, category_id");
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    /**
+     * Only user_id is bound, so H2 may pick the single-column foreign key index; MySQL drops that
+     * index once idx_expenses_user_date_id can back the constraint.
+     */
+    @Test
+    void firstPageLooksUpUserIndex() {
+        String plan = planOf(() -> expenseRepository.findPageByUserId(1L, PageRequest.of(0, 50)));
+        
+        assertIndexLookup(plan, USER_INDEX, "user_id = ?1");
+    }
+    
+    @Test
+    void keysetPageSeeksUserDateIndex() {
+        String plan = planOf(() -> expenseRepository.findPageByUserIdAfter(
+                1L, LocalDate.of(2024, 6, 1), 500L, PageRequest.of(0, 50)));
+        
+        assertIndexLookup(plan, USER_DATE_INDEX, "user_id = ?1", "expense_date <= ?2");
+    }
+    
+    @Test
+    void dateRangeKeysetPageSeeksUserDateIndex() {
+        String plan = planOf(() -> expenseRepository.findPageByUserIdAndDateRangeAfter(
+                1L, START, END, LocalDate.of(2024, 6, 1), 500L, PageRequest.of(0, 50)));
+        
+        assertIndexLookup(plan, USER_DATE_INDEX, "user_id = ?1", "expense_date >= ?2", "expense_date <= ?3");
+    }
+    
+    @Test
+    void expenseAggregatesRangeScanUserDateIndex() {
+        String byCategory = planOf(() -> expenseRepository.sumByCategoryAndDateRange(1L, START, END));
+        String byDay = planOf(() -> expenseRepository.sumByDayAndCategory(1L, START, END));
+        
+        assertIndexLookup(byCategory, USER_DATE_INDEX, "user_id = ?1", "expense_date >= ?2", "expense_date <= ?3");
+        assertIndexLookup(byDay, USER_DATE_INDEX, "user_id = ?1", "expense_date >= ?2", "expense_date <= ?3");
+    }
+    
+    @Test
+    void rollupQueriesRangeScanUniqueKey() {
+        String byCategory = planOf(() -> summaryRepository.sumByCategory(1L, START, END));
+        String byDay = planOf(() -> summaryRepository.findDailyTotals(1L, START, END));
+        
+        assertIndexLookup(byCategory, ROLLUP_KEY, "user_id = ?1", "summary_date >= ?2", "summary_date <= ?3");
+        assertIndexLookup(byDay, ROLLUP_KEY, "user_id = ?1", "summary_date >= ?2", "summary_date <= ?3");
+    }
+    
+    /**
+     * Asserts the plan reads a table through {@code index} with every one of {@code conditions} as
+     * an index condition, which H2 prints as {@code /* public.<index>: <conditions> *}{@code /}.
+     */
+    private static void assertIndexLookup(String plan, String index, String... conditions) {
+        Matcher lookup = Pattern.compile("/\\* public\\.(" + index + "): ([^*]*)\\*/").matcher(plan);
+        assertThat(lookup.find()).as("lookup on %s in plan%n%s", index, plan).isTrue();
+        assertThat(lookup.group(2)).as("index conditions in plan%n%s", plan).contains(conditions);
+    }
+    
+    private String planOf(Runnable query) {
+        CapturingStatementInspector.clear();
+        query.run();
+        String sql = CapturingStatementInspector.last();
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link RateLimitFilter} with a manual ticker: CRUD allows 20/s with a burst of 40, reports
+ * one request per 5 s with no burst.
+ */
+class RateLimitFilterTest {
+    
+    private static final String CRUD = "/api/expenses";
+    private static final String REPORT = "/api/reports/monthly";
+    
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), meterRegistry, true, 600,
+            20, 40, 0.2, 1, nanos::get);
+    
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void admitsBurstThenRejects() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            assertThat(call(1L, CRUD).getStatus()).as("request %d", i + 1).isEqualTo(200);
+        }
+        
+        MockHttpServletResponse rejected = call(1L, CRUD);
+        
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(meterRegistry.counter("rate.limit.rejected", "class", "crud").count()).isEqualTo(1);
+    }
+    
+    @Test
+    void refillsOneRequestPerEmissionInterval() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            call(1L, CRUD);
+        }
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(429);
+        
+        advance(49);
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(429);
+        advance(1);
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(200);
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(429);
+        
+        advance(1000);
+        for (int i = 0; i < 20; i++) {
+            assertThat(call(1L, CRUD).getStatus()).as("request %d", i + 1).isEqualTo(200);
+        }
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(429);
+    }
+    
+    @Test
+    void retryAfterRoundsRemainingWaitUpToWholeSeconds() throws Exception {
+        assertThat(call(1L, REPORT).getStatus()).isEqualTo(200);
+        assertThat(call(1L, REPORT).getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        
+        advance(1);
+        assertThat(call(1L, REPORT).getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        advance(3999);
+        assertThat(call(1L, REPORT).getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        advance(999);
+        assertThat(call(1L, REPORT).getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        advance(1);
+        assertThat(call(1L, REPORT).getStatus()).isEqualTo(200);
+    }
+    
+    @Test
+    void bucketsArePerUserAndEndpointClass() throws Exception {
+        assertThat(call(1L, REPORT).getStatus()).isEqualTo(200);
+        assertThat(call(1L, REPORT).getStatus()).isEqualTo(429);
+        
+        assertThat(call(2L, REPORT).getStatus()).isEqualTo(200);
+        assertThat(call(1L, CRUD).getStatus()).isEqualTo(200);
+        assertThat(call(null, REPORT).getStatus()).isEqualTo(200);
+    }
+    
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+    
+    private MockHttpServletResponse call(Long userId, String path) throws Exception {
+        SecurityContextHolder.clearContext();
+        if (userId != null) {
+            UserPrincipal principal = new UserPrincipal(userId, "user" + userId, userId + "@test", "n/a",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
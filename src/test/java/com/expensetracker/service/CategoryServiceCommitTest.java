@@ -0,0 +1,90 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.CategoryRequest;
+import com.expensetracker.dto.response.CategoryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link CategoryService} the way a controller does: outside any test transaction and with
+ * the real {@link DataVersionService}, whose bump requires the service's own transaction.
+ */
+@DataJpaTest(properties = "spring.datasource.url="
+        + "jdbc:h2:mem:category_commits;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({CategoryService.class, DataVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryServiceCommitTest {
+    
+    private static final String VERSION = "SELECT version FROM user_data_versions WHERE user_id = ?";
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockBean
+    private ResidentExpenseStore residentStore;
+    
+    @MockBean
+    private ReportResultCache reportCache;
+    
+    private final Long userId = 1L;
+    
+    @BeforeEach
+    void createUser() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) "
+                + "VALUES (?, 'alice', 'alice@test', 'x', 'USER', CURRENT_TIMESTAMP)", userId);
+    }
+    
+    @AfterEach
+    void deleteData() {
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM user_data_versions");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+    
+    @Test
+    void createAndRenameCommitAndBumpVersion() {
+        CategoryResponse created = categoryService.createCategory(request("Food"), userId);
+        assertThat(jdbcTemplate.queryForObject(VERSION, Long.class, userId)).isEqualTo(1L);
+        
+        categoryService.updateCategory(created.getId(), request("Groceries"), userId);
+        
+        assertThat(jdbcTemplate.queryForObject(VERSION, Long.class, userId)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM categories WHERE user_id = ?", String.class, userId))
+                .containsExactly("Groceries");
+    }
+    
+    @Test
+    void duplicateNameLeavesVersionUnchanged() {
+        categoryService.createCategory(request("Food"), userId);
+        
+        assertThatThrownBy(() -> categoryService.createCategory(request("Food"), userId))
+                .hasMessage("Category with this name already exists");
+        assertThat(jdbcTemplate.queryForObject(VERSION, Long.class, userId)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class)).isEqualTo(1L);
+    }
+    
+    private static CategoryRequest request(String name) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        request.setColor("#000000");
+        return request;
+    }
+}
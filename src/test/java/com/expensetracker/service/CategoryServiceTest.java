@@ -0,0 +1,71 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.CategoryRequest;
+import com.expensetracker.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CategoryService.class)
+class CategoryServiceTest {
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @MockBean
+    private ResidentExpenseStore residentStore;
+    
+    @MockBean
+    private DataVersionService dataVersionService;
+    
+    @MockBean
+    private ReportResultCache reportCache;
+    
+    private Long userId;
+    
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@test");
+        user.setPassword("x");
+        userId = entityManager.persistAndFlush(user).getId();
+    }
+    
+    @Test
+    void duplicateNameIsReportedAsExisting() {
+        categoryService.createCategory(request("Food"), userId);
+        
+        assertThatThrownBy(() -> categoryService.createCategory(request("Food"), userId))
+                .isExactlyInstanceOf(RuntimeException.class)
+                .hasMessage("Category with this name already exists");
+    }
+    
+    @Test
+    void otherIntegrityViolationsAreRethrown() {
+        assertThatThrownBy(() -> categoryService.createCategory(request("x".repeat(300)), userId))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+    
+    private static CategoryRequest request(String name) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        request.setColor("#000000");
+        return request;
+    }
+}
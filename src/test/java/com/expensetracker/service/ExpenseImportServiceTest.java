@@ -0,0 +1,178 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.ExpenseRequest;
+import com.expensetracker.dto.response.ImportResponse;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({ExpenseImportService.class, ExpenseService.class, ExpenseRollupService.class})
+class ExpenseImportServiceTest {
+    
+    private static final String EXPENSES = "SELECT e.description, e.amount, e.expense_date, c.name FROM expenses e "
+            + "JOIN categories c ON c.id = e.category_id WHERE e.user_id = ? ORDER BY e.expense_date, e.id";
+    private static final String ROLLUP = "SELECT user_id, summary_date, category_id, total_amount, expense_count "
+            + "FROM daily_expense_summaries ORDER BY user_id, summary_date, category_id";
+    private static final String EXPENSE_TOTALS = "SELECT user_id, expense_date, category_id, SUM(amount), COUNT(*) "
+            + "FROM expenses GROUP BY user_id, expense_date, category_id ORDER BY user_id, expense_date, category_id";
+    
+    @Autowired
+    private ExpenseImportService importService;
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @MockBean
+    private ResidentExpenseStore residentStore;
+    
+    @MockBean
+    private DataVersionService dataVersionService;
+    
+    @MockBean
+    private ReportResultCache reportCache;
+    
+    private Long aliceId;
+    private Long bobId;
+    private Long food;
+    private Long travel;
+    
+    @BeforeEach
+    void createUsers() {
+        User alice = user("alice");
+        User bob = user("bob");
+        aliceId = alice.getId();
+        bobId = bob.getId();
+        food = category(alice, "Food").getId();
+        travel = category(alice, "Travel, abroad").getId();
+        category(bob, "Food");
+        category(bob, "Travel, abroad");
+    }
+    
+    @Test
+    void nullAndSubCentRowsAreRejectedAndRollupMatchesExpenses() {
+        ImportResponse response = importService.importExpenses(Arrays.asList(
+                request("Lunch", "12.50", "2024-03-01", food),
+                null,
+                request("Dinner", "30.25", "2024-03-01", food),
+                request("Taxi", "1.005", "2024-03-01", travel),
+                request("Coffee", "3.75", "2024-03-02", travel)), aliceId);
+        
+        assertThat(response.getImportedCount()).isEqualTo(3);
+        assertThat(response.getRejectedCount()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportResponse.RowError::getRow).containsExactly(2, 4);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("Row is null");
+        assertThat(response.getErrors().get(1).getMessage()).startsWith("amount: ");
+        assertRollupMatchesExpenses();
+    }
+    
+    @Test
+    void overLongDescriptionIsRejectedWithoutFailingTheBatch() {
+        ImportResponse response = importService.importExpenses(List.of(
+                request("Lunch", "12.50", "2024-03-01", food),
+                request("x".repeat(256), "30.25", "2024-03-01", food),
+                request("x".repeat(255), "3.75", "2024-03-02", travel)), aliceId);
+        
+        assertThat(response.getImportedCount()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportResponse.RowError::getRow, ImportResponse.RowError::getMessage)
+                .containsExactly(tuple(2, "description: Description must be at most 255 characters"));
+        assertRollupMatchesExpenses();
+    }
+    
+    @Test
+    void csvExportImportsBackUnchanged() throws Exception {
+        importService.importExpenses(List.of(
+                request("Lunch", "12.50", "2024-03-01", food),
+                request("Dinner, with \"friends\"\nand family", "30.25", "2024-03-01", food),
+                request("Flight\r\nreturn", "199.99", "2024-03-02", travel)), aliceId);
+        StringWriter export = new StringWriter();
+        expenseService.exportExpenses(aliceId, ExpenseService.ExportFormat.CSV, export);
+        
+        ImportResponse response = importService.importCsv(new StringReader(export.toString()), bobId);
+        
+        assertThat(response.getImportedCount()).isEqualTo(3);
+        assertThat(response.getRejectedCount()).isZero();
+        List<Map<String, Object>> imported = jdbcTemplate.queryForList(EXPENSES, bobId);
+        assertThat(imported).isEqualTo(jdbcTemplate.queryForList(EXPENSES, aliceId));
+        assertThat(imported).extracting(row -> row.get("description"))
+                .contains("Dinner, with \"friends\"\nand family", "Flight\r\nreturn");
+        assertRollupMatchesExpenses();
+    }
+    
+    @Test
+    void csvRowsNamingUnknownCategoriesAreRejected() throws Exception {
+        String csv = "description,amount,expenseDate,category\n"
+                + "Lunch,12.50,2024-03-01,Food\n"
+                + "\n"
+                + "Museum,8.00,2024-03-01,Culture\n";
+        
+        ImportResponse response = importService.importCsv(new StringReader(csv), aliceId);
+        
+        assertThat(response.getImportedCount()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(ImportResponse.RowError::getRow, ImportResponse.RowError::getMessage)
+                .containsExactly(tuple(2, "Category not found: Culture"));
+    }
+    
+    private void assertRollupMatchesExpenses() {
+        assertThat(jdbcTemplate.query(ROLLUP, (rs, i) -> List.of(rs.getLong(1), rs.getDate(2), rs.getLong(3),
+                rs.getBigDecimal(4), rs.getLong(5))))
+                .isEqualTo(jdbcTemplate.query(EXPENSE_TOTALS, (rs, i) -> List.of(rs.getLong(1), rs.getDate(2),
+                        rs.getLong(3), rs.getBigDecimal(4), rs.getLong(5))));
+    }
+    
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test");
+        user.setPassword("x");
+        return entityManager.persistAndFlush(user);
+    }
+    
+    private Category category(User user, String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setUser(user);
+        return entityManager.persistAndFlush(category);
+    }
+    
+    private static ExpenseRequest request(String description, String amount, String date, Long categoryId) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription(description);
+        request.setAmount(new BigDecimal(amount));
+        request.setExpenseDate(LocalDate.parse(date));
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.request.ExpenseRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two changes of one expense concurrently, each in its own committed transaction, and checks
+ * the rollup subtracted the previous amount once per change.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:expense_locks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+        + "NON_KEYWORDS=USER,VALUE;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ExpenseService.class, ExpenseRollupService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseServiceLockTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    private static final String ROLLUP = "SELECT total_amount, expense_count FROM daily_expense_summaries";
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @MockBean
+    private ResidentExpenseStore residentStore;
+    
+    @MockBean
+    private DataVersionService dataVersionService;
+    
+    @MockBean
+    private ReportResultCache reportCache;
+    
+    private final Long userId = 1L;
+    private final Long categoryId = 1L;
+    private Long expenseId;
+    
+    @BeforeEach
+    void createExpense() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) "
+                + "VALUES (?, 'alice', 'alice@test', 'x', 'USER', CURRENT_TIMESTAMP)", userId);
+        jdbcTemplate.update("INSERT INTO categories (id, name, user_id, created_at) "
+                + "VALUES (?, 'Food', ?, CURRENT_TIMESTAMP)", categoryId, userId);
+        expenseId = expenseService.createExpense(request("10.00"), userId).getId();
+    }
+    
+    @AfterEach
+    void deleteData() {
+        jdbcTemplate.update("DELETE FROM daily_expense_summaries");
+        jdbcTemplate.update("DELETE FROM expenses");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+    
+    @Test
+    void concurrentUpdatesEachSubtractWhatTheyReplaced() throws Exception {
+        CompletableFuture<?> other = whileChanging(() -> expenseService.updateExpense(expenseId, request("20.00"), userId),
+                () -> expenseService.updateExpense(expenseId, request("30.00"), userId));
+        
+        other.get(20, TimeUnit.SECONDS);
+        assertThat(jdbcTemplate.queryForList(ROLLUP)).singleElement()
+                .satisfies(row -> assertThat((BigDecimal) row.get("total_amount")).isEqualByComparingTo("30.00"))
+                .satisfies(row -> assertThat(row.get("expense_count")).isEqualTo(1L));
+    }
+    
+    @Test
+    void updateWaitingOnDeleteFindsNoExpense() throws Exception {
+        CompletableFuture<?> other = whileChanging(() -> expenseService.deleteExpense(expenseId, userId),
+                () -> expenseService.updateExpense(expenseId, request("30.00"), userId));
+        
+        assertThat(other).failsWithin(20, TimeUnit.SECONDS).withThrowableThat()
+                .havingRootCause().withMessage("Expense not found");
+        assertThat(jdbcTemplate.queryForList(ROLLUP)).isEmpty();
+    }
+    
+    /**
+     * Starts {@code second} on another thread while {@code first} holds its transaction open, then
+     * commits {@code first}; the wait gives {@code second} time to read the expense before then.
+     */
+    private CompletableFuture<?> whileChanging(Runnable first, Runnable second) {
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CompletableFuture<?>[] other = new CompletableFuture<?>[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            first.run();
+            other[0] = CompletableFuture.runAsync(() -> {
+                secondStarted.countDown();
+                second.run();
+            });
+            try {
+                secondStarted.await();
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return other[0];
+    }
+    
+    private ExpenseRequest request(String amount) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Lunch");
+        request.setAmount(new BigDecimal(amount));
+        request.setExpenseDate(DAY);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
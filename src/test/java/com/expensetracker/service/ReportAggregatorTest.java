@@ -0,0 +1,121 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.response.ReportResponse;
+import com.expensetracker.repository.projection.CategoryTotal;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compares {@link ReportAggregator} with the {@code BigDecimal} fold {@code ReportService} used
+ * before it, including the scale of every amount.
+ */
+class ReportAggregatorTest {
+    
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 13);
+    
+    @Test
+    void emptyInputMatchesFold() {
+        assertThat(ReportAggregator.aggregate(List.<Row>of(), "empty")).isEqualTo(fold(List.of(), "empty"));
+    }
+    
+    @Test
+    void singleReportMatchesFold() {
+        List<Row> rows = rows(new Random(42), 5_000, 40);
+        
+        assertThat(ReportAggregator.aggregate(rows, "report")).isEqualTo(fold(rows, "report"));
+    }
+    
+    @Test
+    void dashboardBucketsMatchFoldPerPeriod() {
+        List<Row> rows = rows(new Random(7), 3_000, 12);
+        LocalDate weekStart = DATE.minusDays(2);
+        LocalDate weekEnd = weekStart.plusDays(6);
+        List<Predicate<? super Row>> buckets = List.of(
+                row -> !row.getDay().isBefore(weekStart) && !row.getDay().isAfter(weekEnd),
+                row -> YearMonth.from(row.getDay()).equals(YearMonth.from(DATE)),
+                row -> row.getDay().getYear() == DATE.getYear());
+        List<String> periods = List.of("week", "month", "year");
+        
+        List<ReportResponse> reports = ReportAggregator.aggregate(rows, buckets, periods);
+        
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            List<Row> selected = rows.stream().filter(buckets.get(bucket)::test).toList();
+            assertThat(reports.get(bucket)).isEqualTo(fold(selected, periods.get(bucket)));
+        }
+    }
+    
+    /** The bounds ExpenseRequest's {@code @Digits} admits convert exactly; anything finer throws. */
+    @Test
+    void toCentsIsExactWithinTheValidatedAmounts() {
+        assertThat(ReportAggregator.toCents(new BigDecimal("0.01"))).isEqualTo(1L);
+        assertThat(ReportAggregator.toCents(new BigDecimal("99999999.99"))).isEqualTo(9_999_999_999L);
+        assertThatThrownBy(() -> ReportAggregator.toCents(new BigDecimal("1.005")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+    
+    /** The fold ReportService used before ReportAggregator. */
+    private static ReportResponse fold(List<? extends CategoryTotal> totals, String period) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalExpenses = 0;
+        Map<String, BigDecimal> categoryWiseExpenses = new HashMap<>();
+        for (CategoryTotal total : totals) {
+            totalAmount = totalAmount.add(total.getTotalAmount());
+            totalExpenses += total.getExpenseCount();
+            categoryWiseExpenses.merge(total.getCategoryName(), total.getTotalAmount(), BigDecimal::add);
+        }
+        return new ReportResponse(totalAmount, totalExpenses, categoryWiseExpenses, period);
+    }
+    
+    /** Rollup-shaped rows: DECIMAL(10,2) totals, spread over two years so every bucket filters. */
+    private static List<Row> rows(Random random, int count, int categoryCount) {
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long category = random.nextInt(categoryCount);
+            rows.add(new Row(DATE.minusDays(random.nextInt(730)), category, "Category " + category,
+                    BigDecimal.valueOf(random.nextInt(100_000_000), 2), 1L + random.nextInt(5)));
+        }
+        return rows;
+    }
+    
+    private record Row(LocalDate day, Long categoryId, String categoryName, BigDecimal totalAmount,
+                       Long expenseCount) implements DailyCategoryTotal {
+        
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+        
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+        
+        @Override
+        public String getCategoryName() {
+            return categoryName;
+        }
+        
+        @Override
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+        
+        @Override
+        public Long getExpenseCount() {
+            return expenseCount;
+        }
+    }
+}
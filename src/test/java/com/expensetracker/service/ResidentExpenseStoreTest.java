@@ -0,0 +1,71 @@
+package com.expensetracker.service;
+
+import com.expensetracker.repository.DailyExpenseSummaryRepository;
+import com.expensetracker.repository.projection.DailyCategoryTotal;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResidentExpenseStoreTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    
+    private final DailyExpenseSummaryRepository summaryRepository = mock(DailyExpenseSummaryRepository.class);
+    
+    @Test
+    void appliedChangesAreWeighedAgain() {
+        ResidentExpenseStore store = store(1 << 20);
+        long loadedBytes = store.columnsFor(1L).orElseThrow().estimatedBytes();
+        assertThat(store.residentBytes()).isEqualTo(loadedBytes);
+        
+        addDays(store, 100);
+        
+        ExpenseColumns columns = store.columnsFor(1L).orElseThrow();
+        assertThat(columns.estimatedBytes()).isGreaterThan((int) loadedBytes);
+        assertThat(store.residentBytes()).isEqualTo(columns.estimatedBytes());
+        verify(summaryRepository, times(1)).findAllDailyTotals(1L);
+    }
+    
+    @Test
+    void userGrowingPastBudgetIsEvicted() {
+        ResidentExpenseStore store = store(1_000);
+        assertThat(store.columnsFor(1L).orElseThrow().estimatedBytes()).isLessThan(1_000);
+        
+        addDays(store, 100);
+        
+        assertThat(store.residentBytes()).isZero();
+        store.columnsFor(1L);
+        verify(summaryRepository, times(2)).findAllDailyTotals(1L);
+    }
+    
+    private ResidentExpenseStore store(long maxBytes) {
+        DailyCategoryTotal row = mock(DailyCategoryTotal.class);
+        when(row.getDay()).thenReturn(DAY);
+        when(row.getCategoryId()).thenReturn(1L);
+        when(row.getCategoryName()).thenReturn("Food");
+        when(row.getTotalAmount()).thenReturn(new BigDecimal("10.00"));
+        when(row.getExpenseCount()).thenReturn(1L);
+        when(summaryRepository.findAllDailyTotals(1L)).thenReturn(List.of(row));
+        
+        ResidentExpenseStore store = new ResidentExpenseStore(summaryRepository);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "maxBytes", maxBytes);
+        store.init();
+        return store;
+    }
+    
+    private static void addDays(ResidentExpenseStore store, int days) {
+        for (int i = 1; i <= days; i++) {
+            store.recordChange(1L, DAY.plusDays(i), 1L, new BigDecimal("2.50"), 1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+-- Schema created by ddl-auto=update at the last commit before Flyway (Hibernate 6.2, MySQLDialect), as logged
+-- by that build. SchemaMigrationTest baselines a database built from it and upgrades it.
+create table categories (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint not null,
+    color varchar(255),
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table expenses (
+    amount decimal(10,2) not null,
+    expense_date date not null,
+    category_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint not null,
+    description varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255) not null,
+    role enum ('ADMIN','USER'),
+    username varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+   add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+   add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table categories
+   add constraint FKghuylkwuedgl2qahxjt8g41kb
+   foreign key (user_id)
+   references users (id);
+
+alter table expenses
+   add constraint FKjao23ohq935a4qrorwwsen0lr
+   foreign key (category_id)
+   references categories (id);
+
+alter table expenses
+   add constraint FKhpk0n2cbnfiuu5nrgl0ika3hq
+   foreign key (user_id)
+   references users (id);